@@ -2,6 +2,8 @@ module org.example.gamefx {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires jdk.management;
+    requires jdk.jfr;
     requires com.google.gson;
 
 
@@ -0,0 +1,293 @@
+package org.example.gamefx;
+
+import org.example.gamefx.entities.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Sort-and-sweep broadphase run once per tick. Entity hitboxes, grown by a margin, are kept
+ * sorted by their left edge; since entities barely move between ticks the array stays nearly
+ * sorted and an insertion sort costs close to O(n). A sweep along X then yields every pair of
+ * boxes that overlap, stored per entity so movement and attacks can iterate the candidates
+ * of one entity without testing the whole world. Object triggers (doors, chests) are not
+ * entities and keep their distance test against the player.
+ * <p>
+ * The margin must cover the distance an entity moves in one tick plus the longest reach that
+ * is queried (e.g. an attack). Pairs become invalid when entities are added or removed or an
+ * entity moves further than the margin (a teleport); consumers must then fall back to another
+ * query until the next {@link #update()}.
+ */
+public class Broadphase {
+    private final double margin;
+
+    // Entities sorted by the left edge of their grown box, with the box of the last update
+    private Entity[] entities = new Entity[16];
+    private double[] minX = new double[16];
+    private double[] maxX = new double[16];
+    private double[] minY = new double[16];
+    private double[] maxY = new double[16];
+    private double[] startX = new double[16];
+    private double[] startY = new double[16];
+    private int count = 0;
+
+    // Candidate pairs as entity slots, and per slot the range of its partners in partners[]
+    private int[] pairA = new int[64];
+    private int[] pairB = new int[64];
+    private int pairCount = 0;
+    private int[] partnerStart = new int[17];
+    private int[] cursor = new int[16];
+    private Entity[] partners = new Entity[128];
+    private boolean valid = false;
+
+    /**
+     * @param margin Distance each box is grown by on every side, in pixels
+     */
+    public Broadphase(double margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Adds an entity, its pairs are available after the next update
+     *
+     * @param entity Entity to track
+     */
+    public void insert(Entity entity) {
+        if (entity.getBroadphaseSlot() >= 0) return;
+        if (count == entities.length) {
+            grow(count * 2);
+        }
+        entities[count] = entity;
+        entity.setBroadphaseSlot(count);
+        count++;
+        valid = false;
+    }
+
+    /**
+     * Removes an entity, keeping the others in sorted order
+     *
+     * @param entity Entity to remove
+     */
+    public void remove(Entity entity) {
+        int slot = entity.getBroadphaseSlot();
+        if (slot < 0 || slot >= count || entities[slot] != entity) return;
+        for (int i = slot; i < count - 1; i++) {
+            move(i + 1, i);
+        }
+        entities[--count] = null;
+        entity.setBroadphaseSlot(-1);
+        valid = false;
+    }
+
+    /**
+     * Removes every entity
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            entities[i].setBroadphaseSlot(-1);
+            entities[i] = null;
+        }
+        count = 0;
+        pairCount = 0;
+        valid = false;
+    }
+
+    /**
+     * Re-sorts the boxes at the entities' current positions and rebuilds the pair list
+     */
+    public void update() {
+        for (int i = 0; i < count; i++) {
+            Entity entity = entities[i];
+            startX[i] = entity.getX();
+            startY[i] = entity.getY();
+            minX[i] = startX[i] - margin;
+            maxX[i] = startX[i] + entity.getHitboxWidth() + margin;
+            minY[i] = startY[i] - margin;
+            maxY[i] = startY[i] + entity.getHitboxHeight() + margin;
+        }
+        insertionSort();
+        sweep();
+        buildPartners();
+        valid = true;
+    }
+
+    /**
+     * Invalidates the pairs if an entity moved beyond the margin since the last update
+     *
+     * @param entity Entity that moved
+     */
+    public void checkMove(Entity entity) {
+        int slot = entity.getBroadphaseSlot();
+        if (!valid || slot < 0) return;
+        if (Math.abs(entity.getX() - startX[slot]) > margin || Math.abs(entity.getY() - startY[slot]) > margin) {
+            valid = false;
+        }
+    }
+
+    private void insertionSort() {
+        for (int i = 1; i < count; i++) {
+            if (minX[i - 1] <= minX[i]) continue;
+            Entity entity = entities[i];
+            double eMinX = minX[i], eMaxX = maxX[i], eMinY = minY[i], eMaxY = maxY[i];
+            double eStartX = startX[i], eStartY = startY[i];
+            int j = i - 1;
+            while (j >= 0 && minX[j] > eMinX) {
+                move(j, j + 1);
+                j--;
+            }
+            entities[j + 1] = entity;
+            minX[j + 1] = eMinX;
+            maxX[j + 1] = eMaxX;
+            minY[j + 1] = eMinY;
+            maxY[j + 1] = eMaxY;
+            startX[j + 1] = eStartX;
+            startY[j + 1] = eStartY;
+        }
+        for (int i = 0; i < count; i++) {
+            entities[i].setBroadphaseSlot(i);
+        }
+    }
+
+    private void sweep() {
+        pairCount = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count && minX[j] < maxX[i]; j++) {
+                if (minY[j] < maxY[i] && minY[i] < maxY[j]) {
+                    if (pairCount == pairA.length) {
+                        pairA = Arrays.copyOf(pairA, pairCount * 2);
+                        pairB = Arrays.copyOf(pairB, pairCount * 2);
+                    }
+                    pairA[pairCount] = i;
+                    pairB[pairCount] = j;
+                    pairCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counting sort of the pairs into a partner list per slot, each pair listed for both entities
+     */
+    private void buildPartners() {
+        Arrays.fill(partnerStart, 0, count + 1, 0);
+        for (int p = 0; p < pairCount; p++) {
+            partnerStart[pairA[p] + 1]++;
+            partnerStart[pairB[p] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            partnerStart[i + 1] += partnerStart[i];
+        }
+        if (partners.length < pairCount * 2) {
+            partners = new Entity[pairCount * 4];
+        } else {
+            Arrays.fill(partners, pairCount * 2, partners.length, null);
+        }
+        System.arraycopy(partnerStart, 0, cursor, 0, count);
+        for (int p = 0; p < pairCount; p++) {
+            int a = pairA[p];
+            int b = pairB[p];
+            partners[cursor[a]++] = entities[b];
+            partners[cursor[b]++] = entities[a];
+        }
+    }
+
+    /**
+     * Checks whether the pairs can answer a query for an entity placed at the given position:
+     * the pairs are valid and the position is within the margin of where the entity was sorted.
+     *
+     * @param entity Queried entity
+     * @param x Queried X position
+     * @param y Queried Y position
+     * @return True if every entity the box at (x, y) touches is among the entity's partners
+     */
+    public boolean covers(Entity entity, double x, double y) {
+        int slot = entity.getBroadphaseSlot();
+        if (!valid || slot < 0) return false;
+        return Math.abs(x - startX[slot]) <= margin && Math.abs(y - startY[slot]) <= margin;
+    }
+
+    /**
+     * @return True if the pairs of the last update still hold for the current positions
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return Number of candidate pairs found by the last update
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Candidate partners of all entities, see {@link #getPartnerStart(Entity)}
+     *
+     * @return Shared partner array, not to be modified
+     */
+    public Entity[] getPartners() {
+        return partners;
+    }
+
+    /**
+     * @param entity Tracked entity
+     * @return First index of the entity's partners in {@link #getPartners()}
+     */
+    public int getPartnerStart(Entity entity) {
+        return partnerStart[entity.getBroadphaseSlot()];
+    }
+
+    /**
+     * @param entity Tracked entity
+     * @return Index after the last of the entity's partners in {@link #getPartners()}
+     */
+    public int getPartnerEnd(Entity entity) {
+        return partnerStart[entity.getBroadphaseSlot() + 1];
+    }
+
+    /**
+     * @param entity Tracked entity
+     * @param other Any entity
+     * @return True if the two entities form a candidate pair
+     */
+    public boolean isPaired(Entity entity, Entity other) {
+        int end = getPartnerEnd(entity);
+        for (int i = getPartnerStart(entity); i < end; i++) {
+            if (partners[i] == other) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Number of tracked entities
+     */
+    public int size() {
+        return count;
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    private void move(int from, int to) {
+        entities[to] = entities[from];
+        minX[to] = minX[from];
+        maxX[to] = maxX[from];
+        minY[to] = minY[from];
+        maxY[to] = maxY[from];
+        startX[to] = startX[from];
+        startY[to] = startY[from];
+        entities[to].setBroadphaseSlot(to);
+    }
+
+    private void grow(int capacity) {
+        entities = Arrays.copyOf(entities, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        startX = Arrays.copyOf(startX, capacity);
+        startY = Arrays.copyOf(startY, capacity);
+        partnerStart = Arrays.copyOf(partnerStart, capacity + 1);
+        cursor = new int[capacity];
+    }
+}
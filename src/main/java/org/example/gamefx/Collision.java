@@ -1,18 +1,22 @@
 package org.example.gamefx;
 
-import org.example.gamefx.blocks.Block;
 import org.example.gamefx.entities.Entity;
-import org.example.gamefx.entities.Player;
-import org.example.gamefx.objects.GameObject;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.example.gamefx.utils.Profiler;
 
 /**
  * Handles collision detection between entities, game objects, and map tiles
  */
 public class Collision {
+    // Longest distance tested at once, below the smallest hitbox so fast movers can't tunnel
+    private static final double SWEEP_STEP = CollisionMap.CELL_SIZE;
+    // Bisection steps used to find the contact point, 8 halvings of a 4 px step give 1/64 px
+    private static final int CONTACT_ITERATIONS = 8;
+
     private World world;
+    // Reused for every test, collision checks must not allocate
+    private final Hitbox movingBox = new Hitbox();
+    private final Hitbox currentBox = new Hitbox();
+    private final Hitbox otherBox = new Hitbox();
 //    private Map map;
 
     public Collision(World world) {
@@ -29,83 +33,83 @@ public class Collision {
      * @return True if movement is allowed, false if any collision occurs
      */
     public boolean canMove(Entity entity, double targetX, double targetY) {
-        boolean mapCollision = checkMapCollision(entity, targetX, targetY);
-        boolean objCollision = checkObjectCollision(entity, targetX, targetY);
-        boolean entityCollision = checkEntityCollision(entity, targetX, targetY);
-
-        if (mapCollision || objCollision || entityCollision) {
-//            if (mapCollision) System.out.println("map col");
-//            if (objCollision) System.out.println("obj col");
-//            if (entityCollision) System.out.println("ent col");
-            return false;
+        Profiler.getInstance().begin("Collision.canMove");
+        try {
+            return !checkStaticCollision(entity, targetX, targetY) && !checkEntityCollision(entity, targetX, targetY);
+        } finally {
+            Profiler.getInstance().end();
         }
-        return true;
     }
 
     /**
-     * Checks for collisions with map tiles
+     * Sweeps the entity's box horizontally from x to x + dx and stops at the first contact
      *
-     * @param entity Entity being checked
-     * @param targetX Proposed X position
-     * @param targetY Proposed Y position
-     * @return True if entity would collide with solid tiles at target position
+     * @param entity Moving entity
+     * @param x Start X position
+     * @param y Y position, fixed during the sweep
+     * @param dx Horizontal distance to move
+     * @return Furthest free X position along the sweep
      */
-    private boolean checkMapCollision(Entity entity, double targetX, double targetY) {
-        Map map = world.getMap();
-
-        double entityWidth = entity.getImg().getWidth();
-        double entityHeight = entity.getImg().getHeight();
-
-        int leftTile = (int) (targetX / map.getTILE_SIZE());
-        int rightTile = (int) ((targetX + entityWidth - 1) / map.getTILE_SIZE());
-        int topTile = (int) (targetY / map.getTILE_SIZE());
-        int bottomTile = (int) ((targetY + entityHeight - 1) / map.getTILE_SIZE());
-        for (int x = leftTile; x <= rightTile; x++) {
-            for (int y = topTile; y <= bottomTile; y++) {
-                Block curBlock = map.getBlock(x, y);
-                if (curBlock.isCollidable()) {
-                    return true;
+    public double sweepX(Entity entity, double x, double y, double dx) {
+        return sweep(entity, x, y, dx, true);
+    }
+
+    /**
+     * Sweeps the entity's box vertically from y to y + dy and stops at the first contact
+     *
+     * @param entity Moving entity
+     * @param x X position, fixed during the sweep
+     * @param y Start Y position
+     * @param dy Vertical distance to move
+     * @return Furthest free Y position along the sweep
+     */
+    public double sweepY(Entity entity, double x, double y, double dy) {
+        return sweep(entity, x, y, dy, false);
+    }
+
+    /**
+     * Tests the path in steps no longer than {@link #SWEEP_STEP}, then bisects between
+     * the last free and the first blocked step
+     */
+    private double sweep(Entity entity, double x, double y, double distance, boolean horizontal) {
+        double start = horizontal ? x : y;
+        if (distance == 0) return start;
+        int steps = (int) Math.ceil(Math.abs(distance) / SWEEP_STEP);
+        double free = start;
+        for (int i = 1; i <= steps; i++) {
+            double next = i == steps ? start + distance : start + distance * i / steps;
+            if (!canMoveAlong(entity, x, y, next, horizontal)) {
+                double blocked = next;
+                for (int j = 0; j < CONTACT_ITERATIONS; j++) {
+                    double mid = (free + blocked) / 2;
+                    if (canMoveAlong(entity, x, y, mid, horizontal)) {
+                        free = mid;
+                    } else {
+                        blocked = mid;
+                    }
                 }
+                return free;
             }
+            free = next;
         }
-        return false;
+        return free;
+    }
+
+    private boolean canMoveAlong(Entity entity, double x, double y, double position, boolean horizontal) {
+        return horizontal ? canMove(entity, position, y) : canMove(entity, x, position);
     }
 
     /**
-     * Checks for collisions with solid game objects
+     * Checks for collisions with collidable map tiles and solid game objects
+     * using the level's precomputed collision bitmap
      *
      * @param entity Entity being checked
      * @param targetX Proposed X position
      * @param targetY Proposed Y position
-     * @return True if entity would collide with any solid objects
+     * @return True if entity would collide with static geometry at target position
      */
-    private boolean checkObjectCollision(Entity entity, double targetX, double targetY) {
-//        List<GameObject> objects = map.getObjectsAt(targetX, targetY);
-        List<GameObject> objects = world.getGameObjects();
-        double entityWidth = entity.getImg().getWidth();
-        double entityHeight = entity.getImg().getHeight();
-
-        // entity hitbox
-        double entityLeft = targetX;
-        double entityRight = targetX + entityWidth;
-        double entityTop = targetY;
-        double entityBottom = targetY + entityHeight;
-        for (GameObject obj : objects) {
-            if (obj.isSolid) {
-                // obj hitbox
-                double objLeft = obj.getX();
-                double objRight = obj.getX() + obj.getImg().getWidth();
-                double objTop = obj.getY();
-                double objBottom = obj.getY() + obj.getImg().getHeight();
-                // check collision
-                boolean collisionX = (entityRight > objLeft) && (entityLeft < objRight);
-                boolean collisionY = (entityBottom > objTop) && (entityTop < objBottom);
-                if (collisionX && collisionY) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean checkStaticCollision(Entity entity, double targetX, double targetY) {
+        return world.getCollisionMap().isBlocked(targetX, targetY, entity.getImg().getWidth(), entity.getImg().getHeight());
     }
 
     /**
@@ -117,63 +121,51 @@ public class Collision {
      * @return True if entity would collide with any relevant entities
      */
     private boolean checkEntityCollision(Entity entity, double targetX, double targetY) {
-        List<Entity> entitiesToCheck = new ArrayList<>(world.getEnemies());
-        if (!(entity instanceof Player)) {
-            entitiesToCheck.add(world.getPlayer());
-        }
         // Hitbox moving entities
-        double[] movingHitbox = getHitbox(entity, targetX, targetY);
-
-        for (Entity other : entitiesToCheck) {
-            if (other == entity) continue;
-            // Hitbox other entities
-            double[] otherHitbox = getHitbox(other, other.getX(), other.getY());
-            // Collision detection
-            boolean collisionX = (movingHitbox[1] > otherHitbox[0]) && (movingHitbox[0] < otherHitbox[1]);
-            boolean collisionY = (movingHitbox[3] > otherHitbox[2]) && (movingHitbox[2] < otherHitbox[3]);
-            // Special case: getting out of a collision
-            if (isAlreadyColliding(entity, other) && isMovingAway(entity, targetX, targetY, other)) {
-                continue;
+        movingBox.set(entity, targetX, targetY);
+        currentBox.set(entity, entity.getX(), entity.getY());
+
+        // Within this tick's broadphase only the entity's pair partners can be hit
+        Broadphase broadphase = world.getBroadphase();
+        if (broadphase.covers(entity, targetX, targetY)) {
+            Entity[] partners = broadphase.getPartners();
+            int end = broadphase.getPartnerEnd(entity);
+            for (int i = broadphase.getPartnerStart(entity); i < end; i++) {
+                if (blocks(entity, partners[i], targetX, targetY)) return true;
             }
-            if (collisionX && collisionY) return true;
+            return false;
         }
-        return false;
-    }
 
-    /**
-     * Calculates entity's hitbox coordinates [left, right, top, bottom] at given position
-     * Player uses centered 48x48 hitbox, enemies use full image bounds
-     *
-     * @param entity Entity to calculate for
-     * @param x Proposed X position
-     * @param y Proposed Y position
-     * @return Array containing [leftX, rightX, topY, bottomY] coordinates
-     */
-    private double[] getHitbox(Entity entity, double x, double y) {
-        if (entity instanceof Player) {
-            // Player: 48x64 centred hitbox
-            return new double[]{x, x + 48, y, y + 48};
-        } else {
-            // Enemies: hitbox according to the picture (x and y are the upper left corner)
-            double width = entity.getImg().getWidth();
-            double height = entity.getImg().getHeight();
-            return new double[]{x, x + width, y, y + height};
+        // Otherwise only entities listed in the grid cells around the target can be hit
+        SpatialGrid grid = world.getEntityGrid();
+        int minCellX = grid.cellOf(movingBox.getMinX());
+        int maxCellX = grid.cellOf(movingBox.getMaxX());
+        int minCellY = grid.cellOf(movingBox.getMinY());
+        int maxCellY = grid.cellOf(movingBox.getMaxY());
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                int bucket = grid.bucketOf(cellX, cellY);
+                Entity[] candidates = grid.getBucket(bucket);
+                for (int i = 0; i < grid.getBucketSize(bucket); i++) {
+                    Entity other = candidates[i];
+                    if (other != entity && blocks(entity, other, targetX, targetY)) return true;
+                }
+            }
         }
+        return false;
     }
 
     /**
-     * Checks if two entities are currently colliding using Axis-Aligned Bounding Box (AABB) detection
+     * Tests one candidate against the boxes prepared by {@link #checkEntityCollision}
      *
-     * @param a First entity
-     * @param b Second entity
-     * @return True if their hitboxes currently overlap
+     * @return True if the other entity blocks the move
      */
-    private boolean isAlreadyColliding(Entity a, Entity b) {
-        double[] aHitbox = getHitbox(a, a.getX(), a.getY());
-        double[] bHitbox = getHitbox(b, b.getX(), b.getY());
-
-        return (aHitbox[1] > bHitbox[0]) && (aHitbox[0] < bHitbox[1]) &&
-                (aHitbox[3] > bHitbox[2]) && (aHitbox[2] < bHitbox[3]);
+    private boolean blocks(Entity entity, Entity other, double targetX, double targetY) {
+        // Hitbox other entities
+        otherBox.set(other, other.getX(), other.getY());
+        if (!movingBox.intersects(otherBox)) return false;
+        // Special case: getting out of a collision
+        return !(currentBox.intersects(otherBox) && isMovingAway(entity, targetX, targetY, other));
     }
 
     /**
@@ -0,0 +1,215 @@
+package org.example.gamefx;
+
+import org.example.gamefx.objects.GameObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packed bitmap of statically blocked space in a level, at {@value #CELL_SIZE} px resolution.
+ * Built once from collidable tiles and the footprints of solid game objects, so a static
+ * collision test is a few masked word tests per row instead of walking blocks and objects.
+ * When an object stops being solid (an opened door) or a tile changes, only the affected
+ * region is rebuilt.
+ * <p>
+ * Object footprints are rounded outwards to whole cells.
+ */
+public class CollisionMap {
+    public static final int CELL_SIZE = 4;
+
+    private final Map map;
+    private final int widthCells;
+    private final int heightCells;
+    private final int wordsPerRow;
+    private final long[] bits;
+    private int mapVersion;
+
+    // Objects rasterized into the bitmap with the solidity and cell range [minX, minY, maxX, maxY] they had
+    private final List<GameObject> objects = new ArrayList<>();
+    private final List<int[]> footprints = new ArrayList<>();
+    private boolean[] rasterizedSolid = new boolean[8];
+
+    /**
+     * Builds the bitmap for a loaded level
+     *
+     * @param map Level map
+     * @param gameObjects Objects placed by the level
+     */
+    public CollisionMap(Map map, List<GameObject> gameObjects) {
+        this.map = map;
+        this.widthCells = map.getWidthTiles() * map.getTILE_SIZE() / CELL_SIZE;
+        this.heightCells = map.getHeightTiles() * map.getTILE_SIZE() / CELL_SIZE;
+        this.wordsPerRow = (widthCells + 63) / 64;
+        this.bits = new long[wordsPerRow * heightCells];
+        this.mapVersion = map.getVersion();
+        for (GameObject obj : gameObjects) {
+            track(obj);
+        }
+        rebuild(0, 0, widthCells - 1, heightCells - 1);
+    }
+
+    /**
+     * Checks a box against blocked tiles and solid objects
+     *
+     * @param x Left edge in pixels
+     * @param y Top edge in pixels
+     * @param width Box width in pixels
+     * @param height Box height in pixels
+     * @return True if any blocked cell lies under the box
+     */
+    public boolean isBlocked(double x, double y, double width, double height) {
+        int minX = Math.max(0, cellOf(x));
+        int minY = Math.max(0, cellOf(y));
+        int maxX = Math.min(widthCells - 1, cellOf(x + width - 1));
+        int maxY = Math.min(heightCells - 1, cellOf(y + height - 1));
+        if (minX > maxX) return false;
+        for (int row = minY; row <= maxY; row++) {
+            if (anySet(row, minX, maxX)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds an object placed after the bitmap was built
+     *
+     * @param obj New game object
+     */
+    public void addObject(GameObject obj) {
+        int[] footprint = track(obj);
+        if (obj.isSolid()) {
+            rebuild(footprint[0], footprint[1], footprint[2], footprint[3]);
+        }
+    }
+
+    /**
+     * Picks up objects whose solidity changed and tiles replaced since the last call.
+     * Called once per tick after the objects were updated.
+     */
+    public void sync() {
+        if (map.getVersion() != mapVersion) {
+            mapVersion = map.getVersion();
+            rebuild(0, 0, widthCells - 1, heightCells - 1);
+            return;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject obj = objects.get(i);
+            if (obj.isSolid() == rasterizedSolid[i]) continue;
+            int[] footprint = footprints.get(i);
+            rasterizedSolid[i] = obj.isSolid();
+            rebuild(footprint[0], footprint[1], footprint[2], footprint[3]);
+            computeFootprint(obj, footprint);
+            rebuild(footprint[0], footprint[1], footprint[2], footprint[3]);
+        }
+    }
+
+    private int[] track(GameObject obj) {
+        int[] footprint = new int[4];
+        computeFootprint(obj, footprint);
+        if (objects.size() == rasterizedSolid.length) {
+            rasterizedSolid = Arrays.copyOf(rasterizedSolid, rasterizedSolid.length * 2);
+        }
+        rasterizedSolid[objects.size()] = obj.isSolid();
+        objects.add(obj);
+        footprints.add(footprint);
+        return footprint;
+    }
+
+    private void computeFootprint(GameObject obj, int[] footprint) {
+        footprint[0] = cellOf(obj.getX());
+        footprint[1] = cellOf(obj.getY());
+        footprint[2] = cellOf(obj.getX() + obj.getImg().getWidth() - 1);
+        footprint[3] = cellOf(obj.getY() + obj.getImg().getHeight() - 1);
+    }
+
+    /**
+     * Clears a cell region and rasterizes every collidable tile and solid object overlapping it
+     */
+    private void rebuild(int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(0, minX);
+        minY = Math.max(0, minY);
+        maxX = Math.min(widthCells - 1, maxX);
+        maxY = Math.min(heightCells - 1, maxY);
+        if (minX > maxX || minY > maxY) return;
+        fill(minX, minY, maxX, maxY, false);
+
+        int cellsPerTile = map.getTILE_SIZE() / CELL_SIZE;
+        for (int tileY = minY / cellsPerTile; tileY <= maxY / cellsPerTile; tileY++) {
+            for (int tileX = minX / cellsPerTile; tileX <= maxX / cellsPerTile; tileX++) {
+                if (map.getBlock(tileX, tileY).isCollidable()) {
+                    fill(Math.max(minX, tileX * cellsPerTile), Math.max(minY, tileY * cellsPerTile),
+                            Math.min(maxX, (tileX + 1) * cellsPerTile - 1), Math.min(maxY, (tileY + 1) * cellsPerTile - 1), true);
+                }
+            }
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            if (!rasterizedSolid[i]) continue;
+            int[] f = footprints.get(i);
+            int fMinX = Math.max(minX, f[0]);
+            int fMinY = Math.max(minY, f[1]);
+            int fMaxX = Math.min(maxX, f[2]);
+            int fMaxY = Math.min(maxY, f[3]);
+            if (fMinX <= fMaxX && fMinY <= fMaxY) {
+                fill(fMinX, fMinY, fMaxX, fMaxY, true);
+            }
+        }
+    }
+
+    private void fill(int minX, int minY, int maxX, int maxY, boolean blocked) {
+        for (int row = minY; row <= maxY; row++) {
+            int base = row * wordsPerRow;
+            for (int word = minX >>> 6; word <= maxX >>> 6; word++) {
+                long mask = rowMask(word, minX, maxX);
+                if (blocked) {
+                    bits[base + word] |= mask;
+                } else {
+                    bits[base + word] &= ~mask;
+                }
+            }
+        }
+    }
+
+    private boolean anySet(int row, int minX, int maxX) {
+        int base = row * wordsPerRow;
+        for (int word = minX >>> 6; word <= maxX >>> 6; word++) {
+            if ((bits[base + word] & rowMask(word, minX, maxX)) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Bits of the word that lie within cell columns minX..maxX
+     */
+    private static long rowMask(int word, int minX, int maxX) {
+        long mask = -1L;
+        if (word == minX >>> 6) {
+            mask &= -1L << (minX & 63);
+        }
+        if (word == maxX >>> 6) {
+            mask &= -1L >>> (63 - (maxX & 63));
+        }
+        return mask;
+    }
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    /**
+     * @param cellX Cell column
+     * @param cellY Cell row
+     * @return True if the cell is blocked, cells outside the map are free
+     */
+    public boolean isBlockedCell(int cellX, int cellY) {
+        if (cellX < 0 || cellY < 0 || cellX >= widthCells || cellY >= heightCells) return false;
+        return (bits[cellY * wordsPerRow + (cellX >>> 6)] & (1L << cellX)) != 0;
+    }
+
+    public int getWidthCells() {
+        return widthCells;
+    }
+
+    public int getHeightCells() {
+        return heightCells;
+    }
+}
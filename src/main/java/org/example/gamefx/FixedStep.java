@@ -0,0 +1,156 @@
+package org.example.gamefx;
+
+/**
+ * Fixed timestep accumulator with a substep cap and a catch-up policy, shared by the
+ * FX game loop and the simulation thread so both handle falling behind the same way.
+ * <p>
+ * Each frame (or wake-up of the simulation thread) adds the elapsed real time with
+ * {@link #beginFrame(double)}, runs a tick for every {@link #nextTick()} that returns true
+ * and finishes with {@link #endFrame()}. Only the thread running the ticks may call these;
+ * the statistics can be read from any thread.
+ */
+public class FixedStep {
+    private final double timePerTick;
+    // Longest frame time fed into the accumulator (GC pauses, level loads, window drags)
+    private final double maxFrameTime;
+
+    private GameLoop.CatchUpPolicy catchUpPolicy = GameLoop.CatchUpPolicy.DROP_TIME;
+    private int maxSubsteps = 5;
+
+    private double accumulator = 0;
+    private int substeps = 0;
+    private boolean hitch = false;
+    // True while a backlog kept by the catch-up policy is being worked off
+    private boolean catchingUp = false;
+    private volatile long hitches = 0;
+    private volatile double droppedTime = 0;
+
+    /**
+     * @param timePerTick Simulation time per tick in nanoseconds
+     * @param maxFrameTime Longest elapsed time accepted per frame in nanoseconds, the rest is dropped
+     */
+    public FixedStep(double timePerTick, double maxFrameTime) {
+        this.timePerTick = timePerTick;
+        this.maxFrameTime = maxFrameTime;
+    }
+
+    /**
+     * Adds the real time elapsed since the previous frame
+     *
+     * @param passedTime Elapsed time in nanoseconds
+     */
+    public void beginFrame(double passedTime) {
+        substeps = 0;
+        // A stall is counted once per frame, however many limits it hits
+        hitch = false;
+        if (passedTime > maxFrameTime) {
+            hitch = true;
+            droppedTime += passedTime - maxFrameTime;
+            passedTime = maxFrameTime;
+        }
+        accumulator += passedTime;
+    }
+
+    /**
+     * Takes one tick from the accumulator unless it is empty or the substep cap is reached
+     *
+     * @return True if the caller should run a tick now
+     */
+    public boolean nextTick() {
+        if (accumulator < timePerTick || substeps >= maxSubsteps) return false;
+        accumulator -= timePerTick;
+        substeps++;
+        return true;
+    }
+
+    /**
+     * Handles the backlog left after the substep cap was reached, so a stall degrades
+     * into a single hitch instead of ever longer update bursts
+     *
+     * @return True if this frame started or hit a stall not already counted
+     */
+    public boolean endFrame() {
+        if (accumulator >= timePerTick) {
+            double limit;
+            if (catchUpPolicy == GameLoop.CatchUpPolicy.DROP_TIME) {
+                // Keep only the fraction of a tick
+                limit = accumulator % timePerTick;
+            } else {
+                // Keep at most one frame's worth of substeps for the following frames
+                limit = Math.min(accumulator, maxSubsteps * timePerTick);
+            }
+            droppedTime += accumulator - limit;
+            accumulator = limit;
+            // Working off a backlog kept by an earlier frame is still the same stall
+            hitch |= !catchingUp;
+            catchingUp = true;
+        } else {
+            catchingUp = false;
+        }
+        if (hitch) {
+            hitches++;
+        }
+        return hitch;
+    }
+
+    /**
+     * Clears the accumulated time, e.g. before a new simulation thread starts ticking.
+     * Statistics are kept.
+     */
+    public void restart() {
+        accumulator = 0;
+        substeps = 0;
+        hitch = false;
+        catchingUp = false;
+    }
+
+    /**
+     * @return Fraction of a tick accumulated but not yet simulated, 0.0 to 1.0
+     */
+    public double getAlpha() {
+        return Math.min(1.0, accumulator / timePerTick);
+    }
+
+    /**
+     * @return Nanoseconds until the next tick is due, 0 if one is due now
+     */
+    public double getTimeToNextTick() {
+        return Math.max(0, timePerTick - accumulator);
+    }
+
+    /**
+     * @param catchUpPolicy How to handle simulation time that can't be caught up
+     */
+    public void setCatchUpPolicy(GameLoop.CatchUpPolicy catchUpPolicy) {
+        this.catchUpPolicy = catchUpPolicy;
+    }
+
+    public GameLoop.CatchUpPolicy getCatchUpPolicy() {
+        return catchUpPolicy;
+    }
+
+    /**
+     * @param maxSubsteps Maximum number of ticks run within one frame (at least 1)
+     */
+    public void setMaxSubsteps(int maxSubsteps) {
+        this.maxSubsteps = Math.max(1, maxSubsteps);
+    }
+
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+
+    /**
+     * @return Number of stalls the simulation could not keep up with, each counted once
+     */
+    public long getHitches() {
+        return hitches;
+    }
+
+    /**
+     * @return Total simulation time discarded by the frame time limit and the catch-up policy, in nanoseconds
+     */
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+}
@@ -1,15 +1,26 @@
 package org.example.gamefx;
 
 import com.google.gson.Gson;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import org.example.gamefx.display.Camera;
 import org.example.gamefx.display.Display;
+import org.example.gamefx.display.HudCache;
+import org.example.gamefx.display.JavaFxRenderer;
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.ViewCuller;
 import org.example.gamefx.entities.DuckEnemy;
 import org.example.gamefx.entities.Enemy;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.entities.SheepEnemy;
+import org.example.gamefx.jfr.GameTickEvent;
+import org.example.gamefx.jfr.LoadGameEvent;
+import org.example.gamefx.jfr.RenderFrameEvent;
+import org.example.gamefx.jfr.SaveGameEvent;
+import org.example.gamefx.objects.Door;
 import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -25,7 +36,20 @@ public class Game {
     private Player player;
     private World world;
     private Input input;
-    private GraphicsContext gc;
+    private HudCache hudCache;
+    private InputRecorder inputRecorder;
+    private InputReplay inputReplay;
+    private final Renderer[] layerRenderers = new Renderer[Display.Layer.values().length];
+    // All layers draw into one target, so every frame is rebuilt from scratch
+    private boolean singleTarget = false;
+
+    // Layer invalidation state
+    private boolean layersValid = false;
+    private final RenderKey mapKey = new RenderKey();
+    private final RenderKey entityKey = new RenderKey();
+    private final RenderKey lastMapKey = new RenderKey();
+    private final RenderKey lastEntityKey = new RenderKey();
+    private final RenderKey lastHudKey = new RenderKey();
 
     /**
      * Initializes new game session
@@ -37,14 +61,42 @@ public class Game {
      * @throws IOException If level initialization fails
      */
     public Game(Display display, int width, int height, Level level) throws IOException {
+        this(display, width, height, level, true);
+    }
+
+    /**
+     * @param record True to start recording input right away, false if the caller still changes
+     *               the initial state and starts the recording itself
+     */
+    private Game(Display display, int width, int height, Level level, boolean record) throws IOException {
+        this(width, height, level);
         this.display = display;
-        this.gc = display.getGraphicsContext();
+        this.hudCache = new HudCache(player, width, height);
+        if (record) {
+            this.inputRecorder = InputRecorder.start(level, input, null);
+        }
+        for (Display.Layer layer : Display.Layer.values()) {
+            layerRenderers[layer.ordinal()] = new JavaFxRenderer(display.getLayer(layer));
+        }
+    }
+
+    /**
+     * Initializes game session without a display (headless simulation and benchmarks).
+     * Nothing is drawn until a renderer is set with {@link #setRenderer(Renderer)}.
+     *
+     * @param width Viewport width in pixels
+     * @param height Viewport height in pixels
+     * @param level Initial game level to load
+     * @throws IOException If level initialization fails
+     */
+    public Game(int width, int height, Level level) throws IOException {
         this.input = Input.getInstance();
 
         this.world = new World(width, height, WIDTH_TILES, HEIGHT_TILES, level);
         this.player = new Player(80, 80, 100, "/character_down_1.png", world.getCollision(), world, input);
         world.setPlayer(player);
         world.getCamera().setPlayer(player);
+        this.hudCache = new HudCache(player);
     }
 
     /**
@@ -53,52 +105,292 @@ public class Game {
      * @throws IOException If level transition fails
      */
     public void update() throws IOException {
-        player.update(
-                System.currentTimeMillis(),
-                display.getGraphicsContext().getCanvas().getWidth(),
-                display.getGraphicsContext().getCanvas().getHeight()
-        );
-        world.update();
+        GameTickEvent event = new GameTickEvent();
+        event.begin();
+        if (!advanceClock()) return;
+        updatePlayer();
+        updateWorld();
+        commit(event);
     }
 
     /**
-     * Renders all game elements with camera offset
+     * Completes a tick event with the tick number and world population
+     *
+     * @param event Event begun before the tick's first phase
+     */
+    public void commit(GameTickEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.tick = world.getClock().getTick();
+            event.enemies = world.getEnemies().size();
+            event.objects = world.getGameObjects().size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Advances the simulation clock by one tick and samples the input for it
+     * (first phase of {@link #update()}). A replay replaces the live keys, a recorder stores them.
+     *
+     * @return False if the clock is paused and the tick must be skipped
+     */
+    public boolean advanceClock() {
+        GameClock clock = world.getClock();
+        if (clock.isPaused()) {
+            // Nothing moves, render the current positions instead of blending towards them
+            player.storePreviousPosition();
+            world.storePreviousPositions();
+            return false;
+        }
+        clock.advance();
+        if (inputReplay != null) {
+            inputReplay.apply(input);
+        }
+        input.sample();
+        if (inputRecorder != null) {
+            inputRecorder.record(input);
+        }
+        return true;
+    }
+
+    /**
+     * Drives the input from a recording instead of the keyboard
+     *
+     * @param replay Recording to play back, null to return to live input
+     */
+    public void setInputReplay(InputReplay replay) {
+        this.inputReplay = replay;
+    }
+
+    /**
+     * Collects this tick's contact pairs, then moves, animates and handles input of the player
+     * (second phase of {@link #update()})
+     */
+    public void updatePlayer() {
+        world.updateBroadphase();
+        player.storePreviousPosition();
+        player.update(world.getClock(), world.getWidth(), world.getHeight());
+    }
+
+    /**
+     * Updates objects, enemies and camera (last phase of {@link #update()})
+     *
+     * @throws IOException If level transition fails
+     */
+    public void updateWorld() throws IOException {
+        world.update(world.getClock());
+    }
+
+    /**
+     * Renders the state of the last tick without interpolation
      */
     public void render() {
-        gc.clearRect(0, 0, display.getWidth(), display.getHeight());
-        int cameraX = (int) world.getCamera().getX();
-        int cameraY = (int) world.getCamera().getY();
+        render(1.0);
+    }
+
+    /**
+     * Renders game elements with camera offset into the layer renderers. Player, enemies and
+     * camera are blended between the previous and current tick, so motion stays smooth when
+     * the display refreshes faster than the simulation ticks.
+     * Each layer is repainted only when its contents or the camera changed.
+     *
+     * @param alpha Fraction of a tick elapsed since the last update, 0.0 to 1.0
+     */
+    public void render(double alpha) {
+        RenderFrameEvent event = new RenderFrameEvent();
+        event.begin();
+        int cameraX = (int) Math.round(world.getCamera().getRenderX(alpha));
+        int cameraY = (int) Math.round(world.getCamera().getRenderY(alpha));
+
+        world.writeMapKey(mapKey, cameraX, cameraY);
+        world.writeEntityKey(entityKey, cameraX, cameraY, alpha);
+        if (singleTarget) {
+            layersValid = false;
+        }
+        boolean repaintMap = !layersValid || !mapKey.matches(lastMapKey);
+        boolean repaintEntities = !layersValid || !entityKey.matches(lastEntityKey);
+        boolean repaintHud = !layersValid || hudCache.isDirty();
+
+        if (repaintMap || repaintEntities) {
+            world.beginFrame();
+        }
+        if (repaintMap) {
+            Renderer mapRenderer = getLayerRenderer(Display.Layer.MAP);
+            mapRenderer.clearRect(0, 0, mapRenderer.getWidth(), mapRenderer.getHeight());
+            world.renderMap(mapRenderer, cameraX, cameraY);
+            lastMapKey.copyFrom(mapKey);
+        }
+        if (repaintEntities) {
+            Renderer entityRenderer = getLayerRenderer(Display.Layer.ENTITIES);
+            if (!singleTarget) {
+                entityRenderer.clearRect(0, 0, entityRenderer.getWidth(), entityRenderer.getHeight());
+            }
+            RenderQueue queue = world.getRenderQueue();
+            world.renderEntities(queue, world.getCuller(), cameraX, cameraY, alpha);
+            renderPlayer(queue, world.getCuller(), cameraX, cameraY, alpha);
+            queue.flush(entityRenderer);
+            lastEntityKey.copyFrom(entityKey);
+            event.drawCommands = queue.getFlushedCommands();
+            event.stateChanges = queue.getStateChanges();
+        }
+        if (repaintHud) {
+            Renderer hudRenderer = getLayerRenderer(Display.Layer.HUD);
+            if (!singleTarget) {
+                hudRenderer.clearRect(0, 0, hudRenderer.getWidth(), hudRenderer.getHeight());
+            }
+            hudCache.draw(hudRenderer);
+        }
+        layersValid = true;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.mapRepainted = repaintMap;
+            event.entitiesRepainted = repaintEntities;
+            event.hudRepainted = repaintHud;
+            event.culled = world.getCuller().getCulled();
+            event.commit();
+        }
+    }
 
-        world.render(gc, cameraX, cameraY);
+    /**
+     * Records the render state of the current tick. Called on the simulation thread right after
+     * {@link #update()}, so the FX thread never reads live world state.
+     *
+     * @param snapshot Back buffer to record into
+     * @param tick Simulation tick number
+     */
+    public void recordSnapshot(WorldSnapshot snapshot, long tick) {
+        snapshot.begin(tick, world);
+        // Bakes dirty chunks here on the simulation thread, the snapshot only keeps the blits
+        world.getMap().render(snapshot.getMapRecorder(), snapshot.getCameraX(), snapshot.getCameraY(), snapshot.getCuller());
+        RenderQueue queue = snapshot.getEntities();
+        world.renderEntities(queue, snapshot.getCuller(), snapshot.getCameraX(), snapshot.getCameraY());
+        renderPlayer(queue, snapshot.getCuller(), snapshot.getCameraX(), snapshot.getCameraY(), 1.0);
 
-        gc.setStroke(Color.RED);
-        gc.strokeRect(player.getX() - cameraX - 24 , player.getY() - cameraY - 24, 48, 48);
-        explainHitbox(world.getCamera(), "hitbox", player.getX() - cameraX - 24, player.getY() - cameraY - 24 + 64, Color.RED);
+        player.getInventory().render(snapshot.getHudRecorder());
+        player.renderHearts(snapshot.getHudRecorder());
+        snapshot.getHudKey().add(player.getInventory().getVersion()).add(player.getHp());
+        snapshot.setOutcome(isLevelComplete(), player.isDead());
+    }
 
-        gc.drawImage(
+    /**
+     * Renders a snapshot published by the simulation thread into the layer renderers.
+     * Layers are repainted only when the snapshot's keys differ from the last drawn ones.
+     *
+     * @param snapshot Latest published snapshot
+     */
+    public void render(WorldSnapshot snapshot) {
+        if (snapshot.getTick() < 0) return; // nothing simulated yet
+        RenderFrameEvent event = new RenderFrameEvent();
+        event.begin();
+        if (singleTarget) {
+            layersValid = false;
+        }
+
+        if (!layersValid || !snapshot.getMapKey().matches(lastMapKey)) {
+            event.mapRepainted = true;
+            Renderer mapRenderer = getLayerRenderer(Display.Layer.MAP);
+            mapRenderer.clearRect(0, 0, mapRenderer.getWidth(), mapRenderer.getHeight());
+            snapshot.getMapLayer().draw(mapRenderer);
+            lastMapKey.copyFrom(snapshot.getMapKey());
+        }
+        if (!layersValid || !snapshot.getEntityKey().matches(lastEntityKey)) {
+            Renderer entityRenderer = getLayerRenderer(Display.Layer.ENTITIES);
+            if (!singleTarget) {
+                entityRenderer.clearRect(0, 0, entityRenderer.getWidth(), entityRenderer.getHeight());
+            }
+            snapshot.getEntities().draw(entityRenderer);
+            lastEntityKey.copyFrom(snapshot.getEntityKey());
+            event.entitiesRepainted = true;
+            event.drawCommands = snapshot.getEntities().getFlushedCommands();
+            event.stateChanges = snapshot.getEntities().getStateChanges();
+        }
+        if (!layersValid || !snapshot.getHudKey().matches(lastHudKey)) {
+            Renderer hudRenderer = getLayerRenderer(Display.Layer.HUD);
+            if (!singleTarget) {
+                hudRenderer.clearRect(0, 0, hudRenderer.getWidth(), hudRenderer.getHeight());
+            }
+            snapshot.getHud().draw(hudRenderer);
+            lastHudKey.copyFrom(snapshot.getHudKey());
+            event.hudRepainted = true;
+        }
+        layersValid = true;
+        event.culled = snapshot.getCuller().getCulled();
+        event.commit();
+    }
+
+    /**
+     * Queues the player sprite and its debug hitbox
+     *
+     * @param queue Render command buffer
+     * @param culler Culling stage counting drawn items
+     * @param cameraX Horizontal camera offset
+     * @param cameraY Vertical camera offset
+     * @param alpha Interpolation factor between the previous and current tick
+     */
+    private void renderPlayer(RenderQueue queue, ViewCuller culler, int cameraX, int cameraY, double alpha) {
+        double playerX = player.getRenderX(alpha);
+        double playerY = player.getRenderY(alpha);
+        double hitboxX = playerX - cameraX - 24;
+        double hitboxY = playerY - cameraY - 24;
+        queue.strokeRect(RenderQueue.LAYER_OVERLAY, hitboxY, Color.RED, 1.0, hitboxX, hitboxY, 48, 48);
+        explainHitbox(queue, "hitbox", hitboxX, hitboxY + 64, Color.RED);
+
+        // The camera follows the player, so it is always on screen
+        culler.count(1, 0);
+        double drawY = playerY - cameraY - player.getImageHeight() / 2;
+        queue.drawSprite(
+                RenderQueue.LAYER_WORLD,
+                drawY + player.getImageHeight(),
                 player.getImage(),
-                player.getX() - cameraX - player.getImageWidth() / 2,
-                player.getY() - cameraY - player.getImageHeight() / 2,
+                playerX - cameraX - player.getImageWidth() / 2,
+                drawY,
                 player.getImageWidth(),
                 player.getImageHeight()
         );
+    }
 
-        player.getInventory().render(gc);
-        player.renderHearts(gc);
+    /**
+     * Redirects all layers into one renderer, e.g. a headless counting or software backend.
+     * Every frame is then fully redrawn, and the HUD is drawn directly since its offscreen cache needs JavaFX.
+     *
+     * @param renderer Render target used for every layer
+     */
+    public void setRenderer(Renderer renderer) {
+        for (Display.Layer layer : Display.Layer.values()) {
+            layerRenderers[layer.ordinal()] = renderer;
+        }
+        hudCache = new HudCache(player);
+        singleTarget = true;
+        layersValid = false;
+    }
+
+    /**
+     * @param layer Gameplay layer
+     * @return Renderer the layer is drawn with
+     */
+    public Renderer getLayerRenderer(Display.Layer layer) {
+        return layerRenderers[layer.ordinal()];
+    }
+
+    /**
+     * Forces every layer to be repainted on the next render (e.g. after the canvases were re-attached)
+     */
+    public void invalidateLayers() {
+        layersValid = false;
     }
 
     /**
      * Debugging utility to draw hitbox labels
      *
-     * @param camera Active camera for coordinate translation
+     * @param queue Render command buffer
      * @param txt Text to display
-     * @param x World X position (pre-camera offset)
-     * @param y World Y position (pre-camera offset)
+     * @param x Screen X position
+     * @param y Screen Y position
      * @param color Text color
      */
-    private void explainHitbox(Camera camera, String txt, double x, double y, Color color) {
-        gc.setFill(color);
-        gc.fillText(txt, x, y);
+    private void explainHitbox(RenderQueue queue, String txt, double x, double y, Color color) {
+        queue.fillText(RenderQueue.LAYER_OVERLAY, y, txt, color, x, y);
     }
 
     /**
@@ -109,6 +401,17 @@ public class Game {
      */
     public void saveGame() {
         Logger.getInstance().info("Saving the game");
+        Profiler.getInstance().begin("Game.saveGame");
+        try {
+            writeSave();
+        } finally {
+            Profiler.getInstance().end();
+        }
+    }
+
+    private void writeSave() {
+        SaveGameEvent event = new SaveGameEvent();
+        event.begin();
 
         SaveData data = new SaveData();
         data.currentLevel = LevelManager.getCurLevel().getClass().getName();
@@ -127,9 +430,17 @@ public class Game {
 
         try (FileWriter writer = new FileWriter(SAVE_FILE)) {
             new Gson().toJson(data, writer);
+            event.success = true;
         } catch (IOException e) {
             e.printStackTrace();
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = SAVE_FILE;
+            event.bytes = new File(SAVE_FILE).length();
+            event.enemies = data.enemies.size();
+            event.commit();
+        }
     }
 
     /**
@@ -140,29 +451,47 @@ public class Game {
      * @throws IOException If save file is missing or corrupted
      */
     public static Game loadGame(Display display) throws IOException {
+        LoadGameEvent event = new LoadGameEvent();
+        event.begin();
+        event.file = SAVE_FILE;
+        event.bytes = new File(SAVE_FILE).length();
         try (FileReader reader = new FileReader(SAVE_FILE)) {
             SaveData data = new Gson().fromJson(reader, SaveData.class);
 
             // Loading a level
             Level level = (Level) Class.forName(data.getCurrentLevel()).newInstance();
+            event.level = level.getClass().getSimpleName();
             LevelManager.setCurLevel(level);
 
             // Creating a new game with a loaded level
-            Game game = new Game(display, (int)display.getWidth(), (int)display.getHeight(), level);
-
-            // Loading a player
-            game.getPlayer().setPosition(data.getPlayerX(), data.getPlayerY());
-            game.getPlayer().setHp(data.getPlayerHp());
-
-            // Loading Enemies
-            game.getWorld().getEnemies().clear();
-            for (SaveData.EnemyState enemyData : data.getEnemies()) {
-                Enemy enemy = createEnemyFromData(enemyData, game.getWorld());
-                game.getWorld().addEnemy(enemy);
-            }
+            Game game = new Game(display, (int)display.getWidth(), (int)display.getHeight(), level, false);
+            game.restoreState(data);
+            // Recorded after restoring, with the save in the header so a replay starts from it
+            game.inputRecorder = InputRecorder.start(level, game.input, data);
+            event.success = true;
             return game;
         } catch (Exception e) {
             throw new IOException("Chyba při načítání hry", e);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Puts the player and enemies into a saved state. Used when loading a game and when
+     * replaying a recording that started from a loaded game.
+     *
+     * @param data Saved player and enemy state
+     */
+    public void restoreState(SaveData data) {
+        // Loading a player
+        player.setPosition(data.getPlayerX(), data.getPlayerY());
+        player.setHp(data.getPlayerHp());
+
+        // Loading Enemies
+        world.clearEnemies();
+        for (SaveData.EnemyState enemyData : data.getEnemies()) {
+            world.addEnemy(createEnemyFromData(enemyData, world));
         }
     }
 
@@ -185,6 +514,21 @@ public class Game {
         }
     }
 
+    /**
+     * Checks whether the exit of the last level was opened. Reads world state, so it must run
+     * on the thread that updates the world; the FX thread reads it from the snapshot instead.
+     *
+     * @return True if the level is complete
+     */
+    public boolean isLevelComplete() {
+        Level curLevel = LevelManager.getCurLevel();
+        if (curLevel instanceof Level2) {
+            Door door = ((Level2) curLevel).getDoor();
+            return door != null && door.isOpened();
+        }
+        return false;
+    }
+
     public Display getDisplay() { return display; }
     public Player getPlayer() { return player; }
     public World getWorld() { return world; }
@@ -0,0 +1,101 @@
+package org.example.gamefx;
+
+/**
+ * Simulation clock advanced once per fixed tick. Every update reads game time from here
+ * instead of the system clock, so the simulation is deterministic, can be paused, slowed
+ * down or sped up, and can be fast-forwarded without waiting for wall-clock time.
+ */
+public class GameClock {
+    public static final double DEFAULT_TICK_RATE = 60.0;
+    // Movement speeds are tuned in pixels per tick at this rate
+    private static final double REFERENCE_TICK_RATE = 60.0;
+
+    private static double tickRate = DEFAULT_TICK_RATE;
+
+    private final double tickMillis;
+    private long tick = 0;
+    private double timeMillis = 0;
+    private double timeScale = 1.0;
+    // Toggled from the FX thread while the simulation thread may be ticking
+    private volatile boolean paused = false;
+
+    /**
+     * Creates clock ticking at the configured tick rate
+     */
+    public GameClock() {
+        this.tickMillis = 1000.0 / tickRate;
+    }
+
+    /**
+     * Sets the simulation tick rate used by the game loop and by clocks created afterwards
+     *
+     * @param updatesPerSecond Fixed simulation updates per second
+     */
+    public static void setTickRate(double updatesPerSecond) {
+        tickRate = updatesPerSecond;
+    }
+
+    /**
+     * @return Configured simulation updates per second
+     */
+    public static double getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Advances game time by one tick, scaled by the time scale. Does nothing while paused.
+     */
+    public void advance() {
+        if (paused) return;
+        tick++;
+        timeMillis += tickMillis * timeScale;
+    }
+
+    /**
+     * @return Game time in milliseconds since the clock was created
+     */
+    public long now() {
+        return (long) timeMillis;
+    }
+
+    /**
+     * @return Number of ticks advanced so far
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return Game time advanced per tick in milliseconds, including the time scale
+     */
+    public double getTickMillis() {
+        return tickMillis * timeScale;
+    }
+
+    /**
+     * @return Factor for per-tick movement speeds, keeps speed per second constant
+     *         across tick rates and follows the time scale
+     */
+    public double getMovementScale() {
+        return REFERENCE_TICK_RATE / (1000.0 / tickMillis) * timeScale;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @param timeScale Game time per real time (1.0 normal, 0.5 slow motion, 2.0 double speed)
+     */
+    public void setTimeScale(double timeScale) {
+        this.timeScale = Math.max(0, timeScale);
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+}
@@ -1,20 +1,57 @@
 package org.example.gamefx;
 
 import javafx.animation.AnimationTimer;
+import javafx.scene.input.KeyCode;
+import org.example.gamefx.display.FrameStatsOverlay;
 import org.example.gamefx.states.StateManager;
+import org.example.gamefx.utils.LatencyHistogram;
+import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
 import java.io.IOException;
 
 /**
  * Manages game timing and execution loop with fixed update rate
  */
 public class GameLoop {
-    private final double UPDATE_RATE = 60.0;
+    /**
+     * What to do with simulation time that could not be caught up within one frame
+     */
+    public enum CatchUpPolicy {
+        /** Discard the missed ticks, the game jumps ahead and keeps real-time speed */
+        DROP_TIME,
+        /** Keep a bounded backlog and work it off over the next frames, the game briefly runs slower */
+        SLOW_DOWN
+    }
+
+    private final double UPDATE_RATE = GameClock.getTickRate();
     private final double TIME_PER_UPDATE = 1_000_000_000.0 / UPDATE_RATE;
+    // Longest frame time fed into the accumulator (GC pauses, level loads, window drags)
+    static final double MAX_FRAME_TIME = 250_000_000.0;
+
+    // Percentiles are reported over windows of this length
+    private static final long STATS_WINDOW = 5_000_000_000L;
+
     private long lastUpdateTime;
     private int fps = 0, ups = 0;
-    private long lastFpsCheck = System.currentTimeMillis();
-    private double accumulator = 0;
+    private int lastFps = 0, lastUps = 0;
+    private long lastFpsCheck;
+    private long lastStatsWindow;
     private StateManager stateManager;
+    private final FixedStep step = new FixedStep(TIME_PER_UPDATE, MAX_FRAME_TIME);
+
+    // Timing histograms of the running window and of the last completed one
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram updateTimes = new LatencyHistogram();
+    private final LatencyHistogram renderTimes = new LatencyHistogram();
+    private final LatencyHistogram lastFrameTimes = new LatencyHistogram();
+    private final LatencyHistogram lastUpdateTimes = new LatencyHistogram();
+    private final LatencyHistogram lastRenderTimes = new LatencyHistogram();
+    // Running window of tick times copied from the simulation thread in threaded mode
+    private final LatencyHistogram simulationTimes = new LatencyHistogram();
+    private FrameStatsOverlay overlay;
+    private boolean f3WasDown = false;
+    private boolean f4WasDown = false;
+    private StallWatchdog watchdog;
 
     /**
      * Creates game loop tied to state manager
@@ -26,42 +63,222 @@ public class GameLoop {
     }
 
     /**
-     * Starts game loop with 60 UPS (updates per second) and variable FPS
+     * Starts game loop with fixed UPS (updates per second, 60 by default) and variable FPS
      * Fixed timestep implementation details:
-     * - Updates run at consistent 60 UPS
+     * - Updates run at consistent UPS, see {@link GameClock#setTickRate(double)}
      * - Rendering happens as fast as possible
-     * - Accumulator prevents spiral of death
+     * - At most maxSubsteps updates run per frame, the remaining backlog is handled by the catch-up policy
+     * Simulation threads started afterwards apply the same catch-up policy and substep cap.
      */
     public void start() {
+        SimulationThread.setCatchUp(step.getCatchUpPolicy(), step.getMaxSubsteps());
         lastUpdateTime = System.nanoTime();
+        lastFpsCheck = lastUpdateTime;
+        lastStatsWindow = lastUpdateTime;
+        if (watchdog != null) {
+            watchdog.start();
+        }
         new AnimationTimer() {
             @Override
             public void handle(long now) {
+                Profiler profiler = Profiler.getInstance();
+                profiler.beginFrame();
+                if (watchdog != null) {
+                    watchdog.beat();
+                    watchdog.setPhase("update");
+                }
                 // Update logika
                 double passedTime = now - lastUpdateTime;
                 lastUpdateTime = now;
-                accumulator += passedTime;
+                frameTimes.record((long) passedTime);
+                step.beginFrame(passedTime);
 
-                while (accumulator >= TIME_PER_UPDATE) {
+                while (step.nextTick()) {
+                    long updateStart = System.nanoTime();
+                    profiler.begin("update");
                     try {
                         stateManager.update();
                     } catch (IOException e) {
                         throw new RuntimeException(e);
+                    } finally {
+                        profiler.end();
                     }
+                    updateTimes.record(System.nanoTime() - updateStart);
                     ups++;
-                    accumulator -= TIME_PER_UPDATE;
                 }
-                stateManager.render();
+                step.endFrame();
+                // Leftover time blends rendering between the last two ticks
+                long renderStart = System.nanoTime();
+                if (watchdog != null) {
+                    watchdog.setPhase("render");
+                }
+                profiler.begin("render");
+                try {
+                    stateManager.render(step.getAlpha());
+                } finally {
+                    profiler.end();
+                }
+                renderTimes.record(System.nanoTime() - renderStart);
                 fps++;
-
-                if (System.currentTimeMillis() - lastFpsCheck >= 1000) {
-                    System.out.println("FPS: " + fps + " | UPS: " + ups);
-                    fps = 0;
-                    ups = 0;
-                    lastFpsCheck = System.currentTimeMillis();
+                profiler.endFrame();
+                if (watchdog != null) {
+                    watchdog.setPhase("idle"); // input and UI event handlers run between frames
                 }
+
+                updateStats(now);
             }
         }.start();
     }
-}
 
+    /**
+     * Rolls the FPS counters and histogram windows, handles the overlay (F3) and profiler (F4) toggles
+     * and draws the overlay
+     *
+     * @param now Frame timestamp in nanoseconds
+     */
+    private void updateStats(long now) {
+        if (now - lastFpsCheck >= 1_000_000_000L) {
+            lastFps = fps;
+            lastUps = ups;
+            fps = 0;
+            ups = 0;
+            lastFpsCheck = now;
+        }
+        if (now - lastStatsWindow >= STATS_WINDOW) {
+            lastFrameTimes.copyFrom(frameTimes);
+            if (SimulationThread.isEnabled()) {
+                // FX-side updates only read snapshots, the ticks run on the simulation thread
+                SimulationThread.copyTickTimes(lastUpdateTimes, true);
+            } else {
+                lastUpdateTimes.copyFrom(updateTimes);
+            }
+            lastRenderTimes.copyFrom(renderTimes);
+            frameTimes.reset();
+            updateTimes.reset();
+            renderTimes.reset();
+            lastStatsWindow = now;
+            Logger.getInstance().info("Frame " + lastFrameTimes.summary() + " | update " + lastUpdateTimes.summary()
+                    + " | render " + lastRenderTimes.summary() + " | hitches: " + getHitches());
+        }
+
+        if (overlay == null) return;
+        // Read live keys, the tick key state may belong to the simulation thread
+        Input input = Input.getInstance();
+        boolean f3Down = input.isKeyDown(KeyCode.F3);
+        boolean f4Down = input.isKeyDown(KeyCode.F4);
+        boolean f3Pressed = f3Down && !f3WasDown;
+        boolean f4Pressed = f4Down && !f4WasDown;
+        f3WasDown = f3Down;
+        f4WasDown = f4Down;
+        if (f3Pressed) {
+            overlay.toggle();
+        }
+        // F4 switches zone profiling and its flame view on and off
+        if (f4Pressed) {
+            Profiler profiler = Profiler.getInstance();
+            profiler.setEnabled(!profiler.isEnabled());
+            overlay.setVisible(true);
+        }
+        // Until the first window completes, show the running one
+        boolean warmingUp = lastFrameTimes.getCount() == 0;
+        LatencyHistogram updates = warmingUp ? updateTimes : lastUpdateTimes;
+        if (warmingUp && SimulationThread.isEnabled() && overlay.isVisible()) {
+            SimulationThread.copyTickTimes(simulationTimes, false);
+            updates = simulationTimes;
+        }
+        overlay.render(now, lastFps, lastUps,
+                warmingUp ? frameTimes : lastFrameTimes,
+                updates,
+                warmingUp ? renderTimes : lastRenderTimes);
+    }
+
+    /**
+     * @param catchUpPolicy How to handle simulation time that can't be caught up
+     */
+    public void setCatchUpPolicy(CatchUpPolicy catchUpPolicy) {
+        step.setCatchUpPolicy(catchUpPolicy);
+        SimulationThread.setCatchUp(catchUpPolicy, step.getMaxSubsteps());
+    }
+
+    public CatchUpPolicy getCatchUpPolicy() {
+        return step.getCatchUpPolicy();
+    }
+
+    /**
+     * @param maxSubsteps Maximum number of updates run within one frame (at least 1)
+     */
+    public void setMaxSubsteps(int maxSubsteps) {
+        step.setMaxSubsteps(maxSubsteps);
+        SimulationThread.setCatchUp(step.getCatchUpPolicy(), step.getMaxSubsteps());
+    }
+
+    public int getMaxSubsteps() {
+        return step.getMaxSubsteps();
+    }
+
+    /**
+     * @param overlay On-screen statistics overlay, toggled with F3
+     */
+    public void setOverlay(FrameStatsOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    /**
+     * @param watchdog Stall detector fed with the loop heartbeat, started together with the loop
+     */
+    public void setWatchdog(StallWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * @return Frames rendered during the last full second
+     */
+    public int getFps() {
+        return lastFps;
+    }
+
+    /**
+     * @return Updates run during the last full second
+     */
+    public int getUps() {
+        return lastUps;
+    }
+
+    /**
+     * @return Time between frames over the last completed statistics window
+     */
+    public LatencyHistogram getFrameTimes() {
+        return lastFrameTimes;
+    }
+
+    /**
+     * @return Time per simulation update over the last completed statistics window,
+     *         measured on the simulation thread in threaded mode
+     */
+    public LatencyHistogram getUpdateTimes() {
+        return lastUpdateTimes;
+    }
+
+    /**
+     * @return Time per render pass over the last completed statistics window
+     */
+    public LatencyHistogram getRenderTimes() {
+        return lastRenderTimes;
+    }
+
+    /**
+     * @return Number of stalls the simulation could not keep up with, each counted once.
+     *         Counted on the simulation thread in threaded mode.
+     */
+    public long getHitches() {
+        return SimulationThread.isEnabled() ? SimulationThread.getHitches() : step.getHitches();
+    }
+
+    /**
+     * @return Total simulation time discarded by the catch-up policy, in milliseconds
+     */
+    public double getDroppedTimeMillis() {
+        double dropped = SimulationThread.isEnabled() ? SimulationThread.getDroppedTime() : step.getDroppedTime();
+        return dropped / 1_000_000.0;
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.gamefx;
+
+import org.example.gamefx.display.CountingRenderer;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.SoftwareRenderer;
+import org.example.gamefx.jfr.GameTickEvent;
+import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Command line entry point that simulates a level without a Stage, as fast as the CPU allows.
+ * Reports ticks per second, allocation rate and time per update phase.
+ *
+ * Usage: HeadlessRunner [--ticks=N] [--level=Level1] [--ups=60] [--render=none|counting|software]
+ *                       [--warmup=N] [--replay=FILE] [--profile-csv=FILE]
+ *                       [--time-scale=X] [--pause=TICK:COUNT] [--enable-logging]
+ *
+ * With --replay the level, tick rate and the save a session was loaded from come from the
+ * recording, no warmup is run and the simulation stops after the last recorded tick unless
+ * --ticks is given.
+ * --time-scale runs game time slower or faster per tick. --pause pauses the clock for COUNT
+ * measured ticks starting at measured tick TICK, the paused ticks are still counted.
+ */
+public class HeadlessRunner {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    private int ticks = 36_000; // 10 minutes of game time at 60 UPS
+    private int warmupTicks = 600;
+    private String levelName = "Level1";
+    private String renderMode = "none";
+    private InputReplay replay;
+    private boolean ticksGiven = false;
+    private double timeScale = 1.0;
+    private long pauseStart = -1;
+    private long pauseLength = 0;
+
+    // Accumulated nanoseconds per phase of the measured run
+    private long clockNanos, playerNanos, worldNanos, renderNanos;
+
+    /**
+     * @param args Command-line parameters, see class description
+     * @throws Exception If the level can't be loaded or the simulation fails
+     */
+    public static void main(String[] args) throws Exception {
+        HeadlessRunner runner = new HeadlessRunner();
+        runner.parseArgs(args);
+        runner.run();
+    }
+
+    /**
+     * Reads --key=value options, unknown options are rejected
+     *
+     * @param args Command-line parameters
+     */
+    private void parseArgs(String[] args) {
+        Logger.getInstance().setEnabled(false);
+        for (String arg : args) {
+            if (arg.startsWith("--ticks=")) {
+                ticks = Integer.parseInt(value(arg));
+                ticksGiven = true;
+            } else if (arg.startsWith("--warmup=")) {
+                warmupTicks = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--level=")) {
+                levelName = value(arg);
+            } else if (arg.startsWith("--ups=")) {
+                GameClock.setTickRate(Double.parseDouble(value(arg)));
+            } else if (arg.startsWith("--render=")) {
+                renderMode = value(arg);
+            } else if (arg.startsWith("--replay=")) {
+                loadReplay(value(arg));
+            } else if (arg.startsWith("--profile-csv=")) {
+                Profiler.getInstance().setEnabled(true);
+                try {
+                    Profiler.getInstance().exportCsv(value(arg));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Can't write " + value(arg) + ": " + e.getMessage(), e);
+                }
+            } else if (arg.startsWith("--time-scale=")) {
+                timeScale = Double.parseDouble(value(arg));
+            } else if (arg.startsWith("--pause=")) {
+                String[] range = value(arg).split(":");
+                if (range.length != 2) {
+                    throw new IllegalArgumentException("Expected --pause=TICK:COUNT, got " + arg);
+                }
+                pauseStart = Long.parseLong(range[0]);
+                pauseLength = Long.parseLong(range[1]);
+            } else if (arg.equals("--enable-logging")) {
+                Logger.getInstance().setEnabled(true);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+    }
+
+    /**
+     * Loads a recording and takes over its level and tick rate
+     */
+    private void loadReplay(String path) {
+        try {
+            replay = new InputReplay(path);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't read replay " + path + ": " + e.getMessage(), e);
+        }
+        levelName = replay.getLevelClassName();
+        GameClock.setTickRate(replay.getTickRate());
+        warmupTicks = 0; // warmup would consume recorded ticks
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Builds the game for the chosen level, warms up, then runs and reports the measured ticks
+     *
+     * @throws Exception If the level can't be loaded or the simulation fails
+     */
+    private void run() throws Exception {
+        if (replay != null && !ticksGiven) {
+            ticks = (int) replay.getTotalTicks();
+        }
+        if (replay != null && timeScale != 1.0) {
+            throw new IllegalArgumentException("--time-scale would make the replay diverge from the recording");
+        }
+        LevelManager.initializeLevels();
+        Level current = LevelManager.getCurLevel();
+        Level level = current.getClass().getSimpleName().equals(levelName) || current.getClass().getName().equals(levelName)
+                ? LevelManager.getCurLevel() // keeps the level chain for door transitions
+                : createLevel(levelName);
+        LevelManager.setCurLevel(level);
+
+        long loadStart = System.nanoTime();
+        Game game = new Game(WIDTH, HEIGHT, level);
+        game.getWorld().getClock().setTimeScale(timeScale);
+        Renderer renderer = createRenderer(renderMode);
+        if (renderer != null) {
+            game.setRenderer(renderer);
+        }
+        if (replay != null) {
+            if (replay.getInitialState() != null) {
+                game.restoreState(replay.getInitialState());
+            }
+            game.setInputReplay(replay);
+            System.out.printf("Replaying %d ticks in %d runs at %.0f UPS%n",
+                    replay.getTotalTicks(), replay.getRunCount(), replay.getTickRate());
+        }
+        System.out.printf("Loaded %s in %.1f ms: %d enemies, %d objects%n", levelName,
+                (System.nanoTime() - loadStart) / 1e6,
+                game.getWorld().getEnemies().size(), game.getWorld().getGameObjects().size());
+
+        for (int i = 0; i < warmupTicks; i++) {
+            tick(game, renderer);
+        }
+        clockNanos = playerNanos = worldNanos = renderNanos = 0;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocStart = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        GameClock clock = game.getWorld().getClock();
+        long gameStart = clock.now();
+        for (int i = 0; i < ticks; i++) {
+            clock.setPaused(i >= pauseStart && i < pauseStart + pauseLength);
+            tick(game, renderer);
+        }
+        clock.setPaused(false);
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocStart;
+        report(game, renderer, elapsed, allocated, (clock.now() - gameStart) / 1000.0);
+        Profiler.getInstance().closeCsv();
+    }
+
+    /**
+     * Runs one tick (and one frame when rendering), accumulating the time of every phase
+     */
+    private void tick(Game game, Renderer renderer) throws Exception {
+        Profiler.getInstance().beginFrame();
+        GameTickEvent event = new GameTickEvent();
+        event.begin();
+        long t0 = System.nanoTime();
+        boolean running = game.advanceClock();
+        long t1 = System.nanoTime();
+        if (running) {
+            game.updatePlayer();
+        }
+        long t2 = System.nanoTime();
+        if (running) {
+            game.updateWorld();
+        }
+        if (running) {
+            game.commit(event);
+        }
+        long t3 = System.nanoTime();
+        if (renderer != null) {
+            game.render();
+        }
+        long t4 = System.nanoTime();
+        Profiler.getInstance().endFrame();
+
+        clockNanos += t1 - t0;
+        playerNanos += t2 - t1;
+        worldNanos += t3 - t2;
+        renderNanos += t4 - t3;
+    }
+
+    /**
+     * Prints throughput, allocation rate and per-phase averages
+     */
+    private void report(Game game, Renderer renderer, long elapsedNanos, long allocatedBytes, double gameSeconds) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Simulated %d ticks (%.1f s game time) in %.3f s%n", ticks, gameSeconds, seconds);
+        System.out.printf("  ticks/s:     %.0f (%.1fx real time)%n", ticks / seconds, gameSeconds / seconds);
+        System.out.printf("  allocation:  %.2f MB/s, %.0f bytes/tick%n",
+                allocatedBytes / seconds / (1024 * 1024), (double) allocatedBytes / ticks);
+        printPhase("clock", clockNanos);
+        printPhase("player", playerNanos);
+        printPhase("world", worldNanos);
+        if (renderer != null) {
+            printPhase("render", renderNanos);
+        }
+        if (renderer instanceof CountingRenderer) {
+            System.out.printf("  draw calls:  %.1f/frame%n", (double) ((CountingRenderer) renderer).getDrawCalls() / (ticks + warmupTicks));
+        } else if (renderer instanceof SoftwareRenderer) {
+            System.out.printf("  draw calls:  %.1f/frame%n", (double) ((SoftwareRenderer) renderer).getDrawCalls() / (ticks + warmupTicks));
+        }
+        System.out.printf("  player:      x=%.1f y=%.1f hp=%d, %d enemies left%n",
+                game.getPlayer().getX(), game.getPlayer().getY(), game.getPlayer().getHp(),
+                game.getWorld().getEnemies().size());
+    }
+
+    private void printPhase(String name, long nanos) {
+        System.out.printf("  %-12s %8.2f us/tick%n", name + ":", nanos / 1e3 / ticks);
+    }
+
+    /**
+     * @param name Simple or fully qualified level class name
+     * @return New level instance
+     */
+    private static Level createLevel(String name) throws ReflectiveOperationException {
+        String className = name.contains(".") ? name : Level.class.getPackageName() + "." + name;
+        return (Level) Class.forName(className).getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * @param mode none, counting or software
+     * @return Renderer for the mode, null when rendering is disabled
+     */
+    private static Renderer createRenderer(String mode) {
+        switch (mode) {
+            case "none":
+                return null;
+            case "counting":
+                return new CountingRenderer(WIDTH, HEIGHT);
+            case "software":
+                return new SoftwareRenderer(WIDTH, HEIGHT);
+            default:
+                throw new IllegalArgumentException("Unknown render mode: " + mode);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.gamefx;
+
+import org.example.gamefx.entities.Entity;
+
+/**
+ * Mutable axis-aligned bounding box. Collision code keeps a few instances and refills them
+ * for every test instead of allocating arrays or Rectangle2D objects, so collision checks
+ * produce no garbage. Edges touching each other do not count as an intersection.
+ */
+public class Hitbox {
+    private double minX, minY, maxX, maxY;
+
+    /**
+     * Sets the box from its top-left corner and size
+     *
+     * @return This box, for chaining
+     */
+    public Hitbox set(double x, double y, double width, double height) {
+        this.minX = x;
+        this.minY = y;
+        this.maxX = x + width;
+        this.maxY = y + height;
+        return this;
+    }
+
+    /**
+     * Sets the box to an entity's collision box at the given position
+     *
+     * @param entity Entity whose hitbox size is used
+     * @param x X position of the entity
+     * @param y Y position of the entity
+     * @return This box, for chaining
+     */
+    public Hitbox set(Entity entity, double x, double y) {
+        return set(x, y, entity.getHitboxWidth(), entity.getHitboxHeight());
+    }
+
+    /**
+     * @param other Box to test
+     * @return True if the boxes overlap with a positive area
+     */
+    public boolean intersects(Hitbox other) {
+        return intersects(minX, minY, maxX, maxY, other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * Overlap test on raw coordinates, for callers holding bounds in primitive arrays
+     *
+     * @return True if box a and box b overlap with a positive area
+     */
+    public static boolean intersects(double aMinX, double aMinY, double aMaxX, double aMaxY,
+                                     double bMinX, double bMinY, double bMaxX, double bMaxY) {
+        return aMaxX > bMinX && aMinX < bMaxX && aMaxY > bMinY && aMinY < bMaxY;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
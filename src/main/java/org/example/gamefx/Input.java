@@ -1,18 +1,37 @@
 package org.example.gamefx;
 
 import javafx.scene.input.KeyCode;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
- * Centralized keyboard input handler with key state tracking
+ * Centralized keyboard input handler with key state tracking.
+ * <p>
+ * Key events may arrive on the FX thread while gameplay runs on the simulation thread, so they
+ * only update a live atomic bitset. Gameplay reads a copy of it taken once per tick by
+ * {@link #sample()}; that copy and the consumed flags belong to the thread running the ticks.
+ * Code outside the simulation (UI shortcuts) reads the live state through {@link #isKeyDown(KeyCode)}.
  */
 public class Input {
     private static Input instance;
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+    // Written by key event handlers, indexed by KeyCode ordinal
+    private final AtomicLongArray liveKeys;
+    // Keys released since the last sample, so a release between two ticks still resets consumption
+    private final AtomicLongArray releasedKeys;
+    // Key state of the current tick, owned by the ticking thread
     private boolean[] keyStates;
     private boolean[] consumedKeyStates;
+    // Keys released and pressed again between the last two samples, as a bitset
+    private final long[] repressedKeys;
 
     private Input() {
         int keyCount = KeyCode.values().length;
+        liveKeys = new AtomicLongArray((keyCount + 63) / 64);
+        releasedKeys = new AtomicLongArray((keyCount + 63) / 64);
         keyStates = new boolean[keyCount];
         consumedKeyStates = new boolean[keyCount];
+        repressedKeys = new long[(keyCount + 63) / 64];
     }
 
     /**
@@ -26,26 +45,72 @@ public class Input {
     }
 
     /**
-     * Marks key as pressed
+     * Marks key as pressed, visible to gameplay from the next {@link #sample()}
      *
      * @param code KeyCode to update
      */
     public void handleKeyPress(KeyCode code) {
-        keyStates[code.ordinal()] = true;
+        int i = code.ordinal();
+        long bit = 1L << i;
+        long word;
+        do {
+            word = liveKeys.get(i >> 6);
+        } while (!liveKeys.compareAndSet(i >> 6, word, word | bit));
     }
 
     /**
-     * Marks key as released
+     * Marks key as released, visible to gameplay from the next {@link #sample()}
      *
      * @param code KeyCode to update
      */
     public void handleKeyRelease(KeyCode code) {
-        keyStates[code.ordinal()] = false;
-        consumedKeyStates[code.ordinal()] = false;
+        int i = code.ordinal();
+        long bit = 1L << i;
+        long word;
+        do {
+            word = liveKeys.get(i >> 6);
+        } while (!liveKeys.compareAndSet(i >> 6, word, word & ~bit));
+        do {
+            word = releasedKeys.get(i >> 6);
+        } while (!releasedKeys.compareAndSet(i >> 6, word, word | bit));
+    }
+
+    /**
+     * Copies the live keys into the key state of a new tick. Releasing a key clears its
+     * consumed flag, also when it was pressed again before this sample.
+     * Called by the ticking thread before any gameplay reads input.
+     */
+    public void sample() {
+        long released = 0;
+        for (int i = 0; i < keyStates.length; i++) {
+            if ((i & 63) == 0) {
+                released = releasedKeys.getAndSet(i >> 6, 0);
+                repressedKeys[i >> 6] = 0;
+            }
+            boolean pressed = (liveKeys.get(i >> 6) & (1L << i)) != 0;
+            if (!pressed || (released & (1L << i)) != 0) {
+                consumedKeyStates[i] = false;
+            }
+            if (pressed && (released & (1L << i)) != 0) {
+                repressedKeys[i >> 6] |= 1L << i;
+            }
+            keyStates[i] = pressed;
+        }
+    }
+
+    /**
+     * Checks the live key state, safe to call from any thread
+     *
+     * @param code KeyCode to check
+     * @return True if key is down right now
+     */
+    public boolean isKeyDown(KeyCode code) {
+        int i = code.ordinal();
+        return (liveKeys.get(i >> 6) & (1L << i)) != 0;
     }
 
     /**
-     * Checks if key is currently pressed
+     * Checks if key is pressed in the current tick
      *
      * @param code KeyCode to check
      * @return True if key is down
@@ -66,4 +131,60 @@ public class Input {
     public boolean isKeyConsumed(KeyCode code) {
         return consumedKeyStates[code.ordinal()];
     }
+
+    /**
+     * @return Number of distinct key codes tracked
+     */
+    public int getKeyCount() {
+        return keyStates.length;
+    }
+
+    /**
+     * Writes the set of pressed keys as a bitset indexed by KeyCode ordinal
+     *
+     * @param bits Target bitset, at least (getKeyCount() + 63) / 64 words
+     */
+    public void getPressedKeys(long[] bits) {
+        java.util.Arrays.fill(bits, 0);
+        for (int i = 0; i < keyStates.length; i++) {
+            if (keyStates[i]) {
+                bits[i >> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Writes the keys that were released and pressed again before the current tick's sample.
+     * They look held to {@link #isKeyPressed(KeyCode)} but lost their consumed flag.
+     *
+     * @param bits Target bitset, at least (getKeyCount() + 63) / 64 words
+     */
+    public void getRepressedKeys(long[] bits) {
+        System.arraycopy(repressedKeys, 0, bits, 0, repressedKeys.length);
+    }
+
+    /**
+     * Replaces the pressed keys with a recorded bitset. Keys that changed are pressed and
+     * released through {@link #handleKeyPress(KeyCode)} and {@link #handleKeyRelease(KeyCode)}
+     * like real key events, and reach gameplay with the next {@link #sample()}.
+     *
+     * Keys in the repressed bitset are released first, as if they went up and down between two ticks.
+     *
+     * @param bits Bitset indexed by KeyCode ordinal
+     * @param repressed Keys released and pressed again since the last sample, see {@link #getRepressedKeys(long[])}
+     */
+    public void setPressedKeys(long[] bits, long[] repressed) {
+        for (int i = 0; i < KEY_CODES.length; i++) {
+            boolean pressed = (bits[i >> 6] & (1L << i)) != 0;
+            KeyCode code = KEY_CODES[i];
+            if ((repressed[i >> 6] & (1L << i)) != 0 && isKeyDown(code)) {
+                handleKeyRelease(code);
+            }
+            if (pressed && !isKeyDown(code)) {
+                handleKeyPress(code);
+            } else if (!pressed && isKeyDown(code)) {
+                handleKeyRelease(code);
+            }
+        }
+    }
 }
\ No newline at end of file
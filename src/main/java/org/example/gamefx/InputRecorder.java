@@ -0,0 +1,194 @@
+package org.example.gamefx;
+
+import com.google.gson.Gson;
+import org.example.gamefx.utils.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Records the pressed keys of every simulation tick into a run-length encoded file.
+ * Consecutive ticks with the same keys are stored as one run, so a recording grows only
+ * when the key state changes. Each finished run is flushed, a crash loses at most the last one.
+ *
+ * File layout (big-endian): magic, version, level class name, tick rate, key count,
+ * initial state (int byte length and UTF-8 {@link SaveData} JSON, length 0 for a new game),
+ * then runs of (varint tick count, pressed key count, key ordinals, repressed key count, key ordinals)
+ * terminated by a zero count. Repressed keys were released and pressed again between two ticks.
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x52504749; // "RPGI"
+    static final int VERSION = 1;
+
+    private static String defaultPath;
+    private static InputRecorder active;
+
+    private final String path;
+    private final DataOutputStream out;
+    private final long[] runKeys;
+    private final long[] tickKeys;
+    private final long[] runRepressed;
+    private final long[] tickRepressed;
+    private int runLength = 0;
+    private long ticks = 0;
+    private boolean closed = false;
+
+    /**
+     * Opens the file and writes the header
+     *
+     * @param path Output file, overwritten
+     * @param level Level the recording starts in
+     * @param input Input whose keys are recorded
+     * @param initialState Loaded save the session starts from, null for a new game
+     * @throws IOException If the file can't be written
+     */
+    public InputRecorder(String path, Level level, Input input, SaveData initialState) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        this.runKeys = new long[(input.getKeyCount() + 63) / 64];
+        this.tickKeys = new long[runKeys.length];
+        this.runRepressed = new long[runKeys.length];
+        this.tickRepressed = new long[runKeys.length];
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(level.getClass().getName());
+        out.writeDouble(GameClock.getTickRate());
+        out.writeShort(input.getKeyCount());
+        byte[] state = initialState == null ? new byte[0]
+                : new Gson().toJson(initialState).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(state.length);
+        out.write(state);
+        out.flush();
+    }
+
+    /**
+     * Sets the file new games record into, null disables recording
+     *
+     * @param path Output file
+     */
+    public static void setDefaultPath(String path) {
+        defaultPath = path;
+    }
+
+    public static String getDefaultPath() {
+        return defaultPath;
+    }
+
+    /**
+     * Starts recording into the default path, closing the previous recording first.
+     * The recording is also closed when the JVM exits.
+     *
+     * @param level Level the recording starts in
+     * @param input Input whose keys are recorded
+     * @param initialState Loaded save the session starts from, null for a new game
+     * @return New recorder, or null if recording is disabled or the file can't be opened
+     */
+    public static synchronized InputRecorder start(Level level, Input input, SaveData initialState) {
+        if (defaultPath == null) return null;
+        if (active != null) {
+            active.close();
+        } else {
+            Runtime.getRuntime().addShutdownHook(new Thread(InputRecorder::closeActive, "input-recorder"));
+        }
+        try {
+            active = new InputRecorder(defaultPath, level, input, initialState);
+            Logger.getInstance().info("Recording input to " + defaultPath);
+        } catch (IOException e) {
+            active = null;
+            Logger.getInstance().log(Logger.Level.ERROR, "Can't record input: " + e.getMessage());
+        }
+        return active;
+    }
+
+    private static synchronized void closeActive() {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    /**
+     * Records the keys pressed during the current tick
+     *
+     * @param input Input to sample
+     */
+    public synchronized void record(Input input) {
+        if (closed) return;
+        input.getPressedKeys(tickKeys);
+        input.getRepressedKeys(tickRepressed);
+        ticks++;
+        if (runLength > 0 && (!Arrays.equals(tickKeys, runKeys) || !Arrays.equals(tickRepressed, runRepressed))) {
+            writeRun();
+        }
+        if (runLength == 0) {
+            System.arraycopy(tickKeys, 0, runKeys, 0, runKeys.length);
+            System.arraycopy(tickRepressed, 0, runRepressed, 0, runRepressed.length);
+        }
+        runLength++;
+    }
+
+    /**
+     * Writes the pending run and the end marker and closes the file
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            if (runLength > 0) {
+                writeRun();
+            }
+            writeVarInt(0);
+            out.close();
+            Logger.getInstance().info("Recorded " + ticks + " ticks of input to " + path);
+        } catch (IOException e) {
+            Logger.getInstance().log(Logger.Level.ERROR, "Can't finish input recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of ticks recorded so far
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    private void writeRun() {
+        try {
+            writeVarInt(runLength);
+            writeKeys(runKeys);
+            writeKeys(runRepressed);
+            out.flush();
+        } catch (IOException e) {
+            closed = true;
+            Logger.getInstance().log(Logger.Level.ERROR, "Input recording stopped: " + e.getMessage());
+        }
+        runLength = 0;
+    }
+
+    private void writeKeys(long[] keys) throws IOException {
+        int count = 0;
+        for (long word : keys) {
+            count += Long.bitCount(word);
+        }
+        out.writeByte(count);
+        for (int w = 0; w < keys.length; w++) {
+            long word = keys[w];
+            while (word != 0) {
+                out.writeShort(w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
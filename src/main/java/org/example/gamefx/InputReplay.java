@@ -0,0 +1,161 @@
+package org.example.gamefx;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays an {@link InputRecorder} file back through {@link Input}, one recorded tick per
+ * simulation tick. Replays are driven by the caller's tick loop, not by wall-clock time,
+ * so a headless run reproduces a session as fast as the CPU allows.
+ */
+public class InputReplay {
+    private final String levelClassName;
+    private final double tickRate;
+    private final int keyCount;
+    private final SaveData initialState;
+    private final List<long[]> runKeys = new ArrayList<>();
+    private final List<long[]> runRepressed = new ArrayList<>();
+    private final List<Integer> runLengths = new ArrayList<>();
+    // Applied once the recording has ended, releases every key
+    private final long[] noKeys;
+    private long totalTicks = 0;
+
+    // Playback position
+    private int run = 0;
+    private int tickInRun = 0;
+
+    /**
+     * Reads a whole recording. A file cut off by a crash is replayed up to its last complete run.
+     *
+     * @param path Recording written by {@link InputRecorder}
+     * @throws IOException If the file is missing or not an input recording
+     */
+    public InputReplay(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException("Not an input recording: " + path);
+            }
+            int version = in.readUnsignedShort();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported input recording version " + version);
+            }
+            levelClassName = in.readUTF();
+            tickRate = in.readDouble();
+            keyCount = in.readUnsignedShort();
+            if (keyCount != Input.getInstance().getKeyCount()) {
+                throw new IOException("Recording uses " + keyCount + " key codes, this JavaFX version has "
+                        + Input.getInstance().getKeyCount());
+            }
+            byte[] state = new byte[in.readInt()];
+            in.readFully(state);
+            initialState = state.length == 0 ? null
+                    : new Gson().fromJson(new String(state, StandardCharsets.UTF_8), SaveData.class);
+            noKeys = new long[(keyCount + 63) / 64];
+            readRuns(in, noKeys.length);
+        }
+    }
+
+    private void readRuns(DataInputStream in, int words) throws IOException {
+        try {
+            while (true) {
+                int length = readVarInt(in);
+                if (length == 0) return;
+                long[] keys = readKeys(in, words);
+                long[] repressed = readKeys(in, words);
+                runKeys.add(keys);
+                runRepressed.add(repressed);
+                runLengths.add(length);
+                totalTicks += length;
+            }
+        } catch (EOFException e) {
+            // Truncated recording, keep the complete runs
+        }
+    }
+
+    private static long[] readKeys(DataInputStream in, int words) throws IOException {
+        long[] keys = new long[words];
+        int count = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            int key = in.readUnsignedShort();
+            keys[key >> 6] |= 1L << key;
+        }
+        return keys;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed run length");
+    }
+
+    /**
+     * Applies the keys of the next recorded tick. Releases all keys once the recording has ended.
+     *
+     * @param input Input the keys are fed into
+     */
+    public void apply(Input input) {
+        if (isFinished()) {
+            input.setPressedKeys(noKeys, noKeys);
+            return;
+        }
+        input.setPressedKeys(runKeys.get(run), runRepressed.get(run));
+        if (++tickInRun == runLengths.get(run)) {
+            run++;
+            tickInRun = 0;
+        }
+    }
+
+    /**
+     * @return True once every recorded tick was applied
+     */
+    public boolean isFinished() {
+        return run >= runKeys.size();
+    }
+
+    /**
+     * @return Loaded save the recorded session started from, null if it started as a new game
+     */
+    public SaveData getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * @return Fully qualified class name of the level the recording starts in
+     */
+    public String getLevelClassName() {
+        return levelClassName;
+    }
+
+    /**
+     * @return Simulation tick rate the recording was made with
+     */
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * @return Number of recorded ticks
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * @return Number of runs, i.e. key state changes plus one
+     */
+    public int getRunCount() {
+        return runKeys.size();
+    }
+}
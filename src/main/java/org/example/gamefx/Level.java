@@ -1,5 +1,10 @@
 package org.example.gamefx;
 
+import org.example.gamefx.entities.AnimationLibrary;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Defines the interface for game levels with progression and content loading
  */
@@ -22,4 +27,14 @@ public interface Level {
      * @param nextLevel Level instance to follow this one
      */
     void setNextLevel(Level nextLevel);
+    /**
+     * @return Resource paths of level-specific images (enemy sprites etc.) to preload,
+     *         by default the duck and sheep animation frames every level uses
+     */
+    default List<String> getAssetPaths() {
+        List<String> paths = new ArrayList<>();
+        paths.addAll(AnimationLibrary.getEnemyFramePaths("/sprites/duckEnemy/", "duck"));
+        paths.addAll(AnimationLibrary.getEnemyFramePaths("/sprites/sheepEnemy/", "sheep"));
+        return paths;
+    }
 }
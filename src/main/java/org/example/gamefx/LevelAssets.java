@@ -0,0 +1,46 @@
+package org.example.gamefx;
+
+import org.example.gamefx.blocks.BlockType;
+import org.example.gamefx.entities.AnimationLibrary;
+import org.example.gamefx.items.ItemType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the image resources a level needs before it can be played
+ */
+public class LevelAssets {
+    /**
+     * @param level Level to collect assets for, null for shared assets only
+     * @return Resource paths of shared assets plus the level's own assets
+     */
+    public static List<String> collect(Level level) {
+        List<String> paths = new ArrayList<>(common());
+        if (level != null) {
+            paths.addAll(level.getAssetPaths());
+        }
+        return paths;
+    }
+
+    /**
+     * @return Resource paths used by every level: player, HUD, items, blocks and common objects
+     */
+    public static List<String> common() {
+        List<String> paths = new ArrayList<>(AnimationLibrary.getPlayerFramePaths());
+        for (int i = 0; i < 5; i++) {
+            paths.add("/hearts/heart_" + i + ".png");
+        }
+        for (ItemType type : ItemType.values()) {
+            paths.add("/items/" + type.getFilename());
+        }
+        for (BlockType type : BlockType.values()) {
+            paths.add("/blocks/" + type.getFileName());
+        }
+        paths.add("/objects/chest.png");
+        paths.add("/objects/chestOpen.png");
+        paths.add("/objects/doorClose.png");
+        paths.add("/objects/doorOpen.png");
+        return paths;
+    }
+}
@@ -3,15 +3,22 @@ package org.example.gamefx;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import org.example.gamefx.display.Display;
+import org.example.gamefx.display.FrameStatsOverlay;
 import org.example.gamefx.states.MenuState;
 import org.example.gamefx.states.StateManager;
 import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
 import java.io.IOException;
 
 /**
  * Main application entry point and JavaFX initialization
  */
 public class Main extends Application {
+    private static final long DEFAULT_STALL_THRESHOLD = 50;
+    private static final String HITCH_REPORT_FILE = "hitch-report.txt";
+
+    private StallWatchdog watchdog;
+
     /**
      * Initializes game window and core systems
      *
@@ -25,6 +32,24 @@ public class Main extends Application {
 
         boolean enableLogging = getParameters().getRaw().contains("--enable-logging");
         Logger.getInstance().setEnabled(enableLogging);
+        SimulationThread.setEnabled(getParameters().getRaw().contains("--threaded-simulation"));
+        Profiler.getInstance().setEnabled(getParameters().getRaw().contains("--profile"));
+        for (String arg : getParameters().getRaw()) {
+            if (arg.startsWith("--ups=")) {
+                GameClock.setTickRate(Double.parseDouble(arg.substring("--ups=".length())));
+            } else if (arg.startsWith("--record=")) {
+                InputRecorder.setDefaultPath(arg.substring("--record=".length()));
+            } else if (arg.startsWith("--watchdog=")) {
+                watchdog = new StallWatchdog(Long.parseLong(arg.substring("--watchdog=".length())), HITCH_REPORT_FILE);
+            } else if (arg.startsWith("--profile-csv=")) {
+                Profiler.getInstance().setEnabled(true);
+                Profiler.getInstance().exportCsv(arg.substring("--profile-csv=".length()));
+            }
+        }
+
+        if (watchdog == null && !getParameters().getRaw().contains("--no-watchdog")) {
+            watchdog = new StallWatchdog(DEFAULT_STALL_THRESHOLD, HITCH_REPORT_FILE);
+        }
 
         LevelManager.initializeLevels();
 
@@ -35,13 +60,37 @@ public class Main extends Application {
         stateManager.setCurrentGameState(menuState);
 
         GameLoop gameLoop = new GameLoop(stateManager);
+        gameLoop.setOverlay(new FrameStatsOverlay(display));
+        gameLoop.setWatchdog(watchdog);
+        if (getParameters().getRaw().contains("--slow-down-on-hitch")) {
+            gameLoop.setCatchUpPolicy(GameLoop.CatchUpPolicy.SLOW_DOWN);
+        }
         gameLoop.start();
     }
 
+    /**
+     * Flushes profiler output and stops the stall watchdog when the window is closed
+     */
+    @Override
+    public void stop() {
+        Profiler.getInstance().closeCsv();
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+    }
+
     /**
      * Launches application with command-line arguments
      *
-     * @param args Command-line parameters (use --enable-logging for debug output)
+     * @param args Command-line parameters (use --enable-logging for debug output,
+     *             --threaded-simulation to run gameplay updates on a separate thread,
+     *             --slow-down-on-hitch to slow the game down instead of dropping time after stalls,
+     *             --ups=N to change the simulation tick rate, e.g. 30 on weak machines,
+     *             --record=FILE to record the keys of every tick for HeadlessRunner --replay,
+     *             --profile to start with zone profiling on (F4 toggles it, F3 shows the overlay),
+     *             --profile-csv=FILE to also export every frame's zones as CSV,
+     *             --watchdog=MS to change the FX thread stall threshold (50 ms by default,
+     *             reports go to hitch-report.txt), --no-watchdog to disable stall detection)
      */
     public static void main(String[] args) {
 //        launch();
@@ -1,9 +1,12 @@
 package org.example.gamefx;
 
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import org.example.gamefx.blocks.Block;
 import org.example.gamefx.blocks.BlockType;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.ViewCuller;
+import org.example.gamefx.utils.Sprite;
+import org.example.gamefx.utils.SpriteAtlas;
+import org.example.gamefx.utils.Profiler;
 import org.example.gamefx.utils.Utils;
 
 import java.io.IOException;
@@ -23,6 +26,10 @@ public class Map {
     private HashMap<Integer, Block> blockMapping = new HashMap<>();
     private Block[][] mapBlocks;
     private final String worldMatName;
+    // Block sprites resolved once per map, indexed by BlockType ordinal
+    private final Sprite[] blockImages = new Sprite[BlockType.values().length];
+    private MapChunks chunks;
+    private int version = 0;
 
     /**
      * Creates a new game map from a matrix file
@@ -38,6 +45,8 @@ public class Map {
         this.worldMatName = mapFile;
         makeBlocksMapping();
         init();
+        loadBlockImages();
+        this.chunks = new MapChunks(this);
     }
 
     /**
@@ -72,6 +81,26 @@ public class Map {
         }
     }
 
+    /**
+     * Resolves the sprite of every block type from the sprite atlas,
+     * so rendering never has to look images up per tile
+     */
+    private void loadBlockImages() {
+        for (BlockType type : BlockType.values()) {
+            blockImages[type.ordinal()] = SpriteAtlas.getInstance().getSprite("/blocks/" + type.getFileName());
+        }
+    }
+
+    /**
+     * Drops block sprites held by this map. Called when the map is replaced.
+     * Their textures are pinned by the {@link SpriteAtlas}, so nothing is released here.
+     */
+    public void dispose() {
+        for (BlockType type : BlockType.values()) {
+            blockImages[type.ordinal()] = null;
+        }
+    }
+
     /**
      * Gets the block at specified tile coordinates
      *
@@ -87,22 +116,60 @@ public class Map {
     }
 
     /**
-     * Renders the map relative to the game camera position
+     * Replaces the block at specified tile coordinates and invalidates its pre-baked chunk
+     *
+     * @param x Tile X coordinate (grid position)
+     * @param y Tile Y coordinate (grid position)
+     * @param block New block for the tile
+     */
+    public void setBlock(int x, int y, Block block) {
+        if(x >= 0 && x < widthTilesAmount && y >= 0 && y < heightTilesAmount) {
+            mapBlocks[y][x] = block;
+            chunks.invalidateTile(x, y);
+            version++;
+        }
+    }
+
+    /**
+     * @param type Block type to look up
+     * @return Sprite used for the given block type
+     */
+    public Sprite getBlockImage(BlockType type) {
+        return blockImages[type.ordinal()];
+    }
+
+    /**
+     * Renders the map relative to the game camera position.
+     * Tiles are drawn from pre-baked chunks, only chunks inside the visible tile range are blitted.
      *
-     * @param gc GraphicsContext to draw on
+     * @param renderer Render target
      * @param cameraX Camera's X offset
      * @param cameraY Camera's Y offset
+     * @param culler Culling stage with the visible tile range for this frame
      */
-    public void render(GraphicsContext gc, int cameraX, int cameraY) {
-        for (int i = 0; i < heightTilesAmount; i++) {
-            for (int j = 0; j < widthTilesAmount; j++) {
-                Block block = mapBlocks[i][j];
-                Image blockImg = Utils.loadImg("/blocks/" + block.getBlockType().getFileName());
-                gc.drawImage(blockImg, j * TILE_SIZE - cameraX -24, i * TILE_SIZE - cameraY -24, TILE_SIZE, TILE_SIZE);
-            }
+    public void render(Renderer renderer, int cameraX, int cameraY, ViewCuller culler) {
+        Profiler.getInstance().begin("Map.render");
+        try {
+            chunks.render(renderer, cameraX, cameraY, culler);
+        } finally {
+            Profiler.getInstance().end();
         }
     }
 
+    /**
+     * Bakes all tile chunks ahead of the first render
+     */
+    public void prebake() {
+        chunks.buildAll();
+    }
+
+    /**
+     * @return Counter incremented on every tile change
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public int getTILE_SIZE() {
         return TILE_SIZE;
     }
@@ -0,0 +1,189 @@
+package org.example.gamefx;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import org.example.gamefx.blocks.Block;
+import org.example.gamefx.blocks.BlockType;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.ViewCuller;
+import org.example.gamefx.utils.Sprite;
+
+import java.nio.IntBuffer;
+
+/**
+ * Pre-baked static tile layer of a {@link Map}.
+ * The map is split into fixed-size chunks of tiles, each rasterized once into an offscreen image.
+ * Rendering blits only chunks visible to the camera, a chunk is rebuilt only when one of its tiles changes.
+ */
+public class MapChunks {
+    public static final int CHUNK_TILES = 8;
+
+    private final Map map;
+    private final int tileSize;
+    private final int chunkPixels;
+    private final int chunksX;
+    private final int chunksY;
+    private final WritableImage[][] chunks;
+    private final boolean[][] dirty;
+
+    // Block textures scaled to tile size, indexed by BlockType ordinal
+    private final int[][] tilePixels = new int[BlockType.values().length][];
+    private int builtChunks = 0;
+
+    /**
+     * Creates chunk cache for a map. Chunks are baked lazily on first render.
+     *
+     * @param map Map providing tiles and block textures
+     */
+    public MapChunks(Map map) {
+        this.map = map;
+        this.tileSize = map.getTILE_SIZE();
+        this.chunkPixels = CHUNK_TILES * tileSize;
+        this.chunksX = (map.getWidthTiles() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.chunksY = (map.getHeightTiles() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.chunks = new WritableImage[chunksY][chunksX];
+        this.dirty = new boolean[chunksY][chunksX];
+        invalidateAll();
+    }
+
+    /**
+     * Marks the chunk containing the given tile for rebuild
+     *
+     * @param tileX Tile X coordinate
+     * @param tileY Tile Y coordinate
+     */
+    public void invalidateTile(int tileX, int tileY) {
+        int cx = tileX / CHUNK_TILES;
+        int cy = tileY / CHUNK_TILES;
+        if (cx >= 0 && cx < chunksX && cy >= 0 && cy < chunksY) {
+            dirty[cy][cx] = true;
+        }
+    }
+
+    /**
+     * Marks every chunk for rebuild
+     */
+    public void invalidateAll() {
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                dirty[cy][cx] = true;
+            }
+        }
+    }
+
+    /**
+     * Rasterizes every dirty chunk up front (e.g. on a loading screen),
+     * so the first rendered frames don't have to bake chunks
+     */
+    public void buildAll() {
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                if (dirty[cy][cx]) {
+                    chunks[cy][cx] = buildChunk(cx, cy);
+                    dirty[cy][cx] = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws chunks overlapping the culler's visible tile range, rebuilding dirty ones first
+     *
+     * @param renderer Render target
+     * @param cameraX Camera's X offset
+     * @param cameraY Camera's Y offset
+     * @param culler Culling stage holding the visible tile range for this frame
+     */
+    public void render(Renderer renderer, int cameraX, int cameraY, ViewCuller culler) {
+        // Tiles are drawn with the same -24 offset as the rest of the world
+        int originX = cameraX + 24;
+        int originY = cameraY + 24;
+        int firstCx = culler.getFirstTileX() / CHUNK_TILES;
+        int firstCy = culler.getFirstTileY() / CHUNK_TILES;
+        int lastCx = culler.getLastTileX() / CHUNK_TILES;
+        int lastCy = culler.getLastTileY() / CHUNK_TILES;
+
+        int drawn = 0;
+        for (int cy = firstCy; cy <= lastCy; cy++) {
+            for (int cx = firstCx; cx <= lastCx; cx++) {
+                if (dirty[cy][cx]) {
+                    chunks[cy][cx] = buildChunk(cx, cy);
+                    dirty[cy][cx] = false;
+                }
+                renderer.drawImage(chunks[cy][cx], cx * chunkPixels - originX, cy * chunkPixels - originY);
+                drawn++;
+            }
+        }
+        culler.count(drawn, chunksX * chunksY - drawn);
+    }
+
+    /**
+     * Rasterizes one chunk of tiles into an offscreen image
+     *
+     * @param cx Chunk X index
+     * @param cy Chunk Y index
+     * @return Baked chunk image
+     */
+    private WritableImage buildChunk(int cx, int cy) {
+        int firstTileX = cx * CHUNK_TILES;
+        int firstTileY = cy * CHUNK_TILES;
+        int tilesW = Math.min(CHUNK_TILES, map.getWidthTiles() - firstTileX);
+        int tilesH = Math.min(CHUNK_TILES, map.getHeightTiles() - firstTileY);
+
+        WritableImage chunk = new WritableImage(tilesW * tileSize, tilesH * tileSize);
+        PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+        for (int ty = 0; ty < tilesH; ty++) {
+            for (int tx = 0; tx < tilesW; tx++) {
+                Block block = map.getBlock(firstTileX + tx, firstTileY + ty);
+                int[] pixels = getTilePixels(block.getBlockType());
+                if (pixels != null) {
+                    chunk.getPixelWriter().setPixels(tx * tileSize, ty * tileSize, tileSize, tileSize,
+                            format, pixels, 0, tileSize);
+                }
+            }
+        }
+        builtChunks++;
+        return chunk;
+    }
+
+    /**
+     * Returns block texture pixels scaled to tile size (nearest neighbour), computed once per block type
+     *
+     * @param type Block type to resolve
+     * @return ARGB pixels of one tile or null if the texture is unavailable
+     */
+    private int[] getTilePixels(BlockType type) {
+        int[] pixels = tilePixels[type.ordinal()];
+        if (pixels != null) return pixels;
+
+        Sprite sprite = map.getBlockImage(type);
+        if (sprite == null || sprite.getImage().getPixelReader() == null) return null;
+
+        // Sprite may be a region of a shared atlas page
+        int srcW = (int) sprite.getWidth();
+        int srcH = (int) sprite.getHeight();
+        int[] src = new int[srcW * srcH];
+        WritablePixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+        PixelReader reader = sprite.getImage().getPixelReader();
+        reader.getPixels((int) sprite.getSrcX(), (int) sprite.getSrcY(), srcW, srcH, format, src, 0, srcW);
+
+        pixels = new int[tileSize * tileSize];
+        for (int y = 0; y < tileSize; y++) {
+            int srcRow = (y * srcH / tileSize) * srcW;
+            for (int x = 0; x < tileSize; x++) {
+                pixels[y * tileSize + x] = src[srcRow + x * srcW / tileSize];
+            }
+        }
+        tilePixels[type.ordinal()] = pixels;
+        return pixels;
+    }
+
+    /**
+     * @return Number of chunk rasterizations since creation (for profiling)
+     */
+    public int getBuiltChunks() {
+        return builtChunks;
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.gamefx;
+
+import org.example.gamefx.utils.LatencyHistogram;
+import org.example.gamefx.utils.Logger;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs World/Player updates at a fixed rate on a dedicated thread and publishes a render
+ * snapshot after every tick. The FX thread only draws the latest snapshot, so a slow frame
+ * no longer delays the simulation and a slow tick no longer delays rendering.
+ * Falling behind is handled with the game loop's catch-up policy and substep cap.
+ */
+public class SimulationThread {
+    private static boolean enabled = false;
+    private static GameLoop.CatchUpPolicy catchUpPolicy = GameLoop.CatchUpPolicy.DROP_TIME;
+    private static int maxSubsteps = 5;
+    // Shared by the simulation threads, only one runs at a time; keeps hitch statistics across sessions
+    private static FixedStep step;
+    // Duration of game.update() per tick since the last reset, guarded by its own lock
+    private static final LatencyHistogram tickTimes = new LatencyHistogram();
+
+    private final Game game;
+    private final SnapshotBuffer snapshots;
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile Exception failure;
+    private long tick = 0;
+
+    /**
+     * @param game Game whose world is simulated
+     */
+    public SimulationThread(Game game) {
+        this.game = game;
+        this.snapshots = new SnapshotBuffer(game.getWorld().getWidth(), game.getWorld().getHeight());
+        synchronized (SimulationThread.class) {
+            if (step == null) {
+                step = new FixedStep(1_000_000_000.0 / GameClock.getTickRate(), GameLoop.MAX_FRAME_TIME);
+            }
+            step.setCatchUpPolicy(catchUpPolicy);
+            step.setMaxSubsteps(maxSubsteps);
+        }
+    }
+
+    /**
+     * @param enabled True to run gameplay simulation off the FX thread
+     */
+    public static void setEnabled(boolean enabled) {
+        SimulationThread.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets how simulation threads started afterwards handle falling behind
+     *
+     * @param policy What to do with time that can't be caught up
+     * @param substeps Maximum number of ticks run back to back before the policy applies
+     */
+    public static synchronized void setCatchUp(GameLoop.CatchUpPolicy policy, int substeps) {
+        catchUpPolicy = policy;
+        maxSubsteps = substeps;
+    }
+
+    /**
+     * @return Stalls of all simulation threads, each counted once
+     */
+    public static synchronized long getHitches() {
+        return step == null ? 0 : step.getHitches();
+    }
+
+    /**
+     * @return Simulation time discarded by all simulation threads, in nanoseconds
+     */
+    public static synchronized double getDroppedTime() {
+        return step == null ? 0 : step.getDroppedTime();
+    }
+
+    /**
+     * Copies the tick durations measured on the simulation thread, for statistics read on another thread
+     *
+     * @param target Histogram overwritten with the recorded durations
+     * @param reset True to start a new window after copying
+     */
+    public static void copyTickTimes(LatencyHistogram target, boolean reset) {
+        synchronized (tickTimes) {
+            target.copyFrom(tickTimes);
+            if (reset) {
+                tickTimes.reset();
+            }
+        }
+    }
+
+    /**
+     * Starts the simulation thread
+     */
+    public void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+        Logger.getInstance().info("Simulation thread started");
+    }
+
+    /**
+     * Stops the simulation thread and waits until the current tick has finished,
+     * after which the world may be accessed from the calling thread again
+     */
+    public void stop() {
+        running = false;
+        if (thread == null || thread == Thread.currentThread()) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        Logger.getInstance().info("Simulation thread stopped after " + tick + " ticks");
+    }
+
+    /**
+     * Fixed timestep loop: runs the ticks that are due, each followed by a published snapshot,
+     * then sleeps until the next tick is due
+     */
+    private void run() {
+        step.restart();
+        long lastWakeUp = System.nanoTime();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                step.beginFrame(now - lastWakeUp);
+                lastWakeUp = now;
+
+                while (running && step.nextTick()) {
+                    long tickStart = System.nanoTime();
+                    game.update();
+                    long tickTime = System.nanoTime() - tickStart;
+                    synchronized (tickTimes) {
+                        tickTimes.record(tickTime);
+                    }
+                    game.recordSnapshot(snapshots.getBack(), tick++);
+                    snapshots.publish();
+                }
+                step.endFrame();
+
+                double wait = step.getTimeToNextTick();
+                if (running && wait > 0) {
+                    LockSupport.parkNanos((long) wait);
+                }
+            }
+        } catch (Exception e) {
+            failure = e;
+            running = false;
+            Logger.getInstance().log(Logger.Level.ERROR, "Simulation thread failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Newest snapshot published by the simulation thread
+     */
+    public WorldSnapshot getLatestSnapshot() {
+        return snapshots.acquire();
+    }
+
+    /**
+     * @return Exception that terminated the simulation, or null
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return Number of ticks simulated so far
+     */
+    public long getTick() {
+        return tick;
+    }
+}
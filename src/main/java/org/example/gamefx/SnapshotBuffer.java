@@ -0,0 +1,50 @@
+package org.example.gamefx;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free triple buffer handing {@link WorldSnapshot}s from the simulation thread to the
+ * FX thread. The writer always has a free back buffer and the reader always keeps the
+ * snapshot it is drawing, so neither side ever waits for the other.
+ */
+public class SnapshotBuffer {
+    private WorldSnapshot back;                       // owned by the writer
+    private final AtomicReference<WorldSnapshot> ready; // latest published snapshot
+    private WorldSnapshot front;                      // owned by the reader
+
+    /**
+     * @param width Viewport width in pixels
+     * @param height Viewport height in pixels
+     */
+    public SnapshotBuffer(int width, int height) {
+        this.back = new WorldSnapshot(width, height);
+        this.ready = new AtomicReference<>(new WorldSnapshot(width, height));
+        this.front = new WorldSnapshot(width, height);
+    }
+
+    /**
+     * @return Snapshot the writer records the next tick into
+     */
+    public WorldSnapshot getBack() {
+        return back;
+    }
+
+    /**
+     * Publishes the back snapshot and takes the previously ready one as the new back buffer
+     */
+    public void publish() {
+        back = ready.getAndSet(back);
+    }
+
+    /**
+     * Swaps in the newest published snapshot if it is newer than the one being read
+     *
+     * @return Newest snapshot available to the reader (tick is -1 until the first publish)
+     */
+    public WorldSnapshot acquire() {
+        if (ready.get().getTick() > front.getTick()) {
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+}
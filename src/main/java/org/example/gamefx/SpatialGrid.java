@@ -0,0 +1,169 @@
+package org.example.gamefx;
+
+import org.example.gamefx.entities.Entity;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Uniform spatial hash of entity hitboxes. Every entity is listed in the buckets of all cells
+ * its hitbox touches and is re-bucketed only when it crosses a cell border, so the grid is
+ * maintained incrementally as entities move. Collision queries visit the buckets around the
+ * tested box instead of every entity in the world.
+ * <p>
+ * Different cells may share a bucket, queries must still test the boxes they get back.
+ */
+public class SpatialGrid {
+    public static final int DEFAULT_CELL_SIZE = 64;
+    private static final int BUCKET_COUNT = 1024; // power of two
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final int cellSize;
+    private final Entity[][] buckets = new Entity[BUCKET_COUNT][];
+    private final int[] sizes = new int[BUCKET_COUNT];
+    // Cell range [minX, minY, maxX, maxY] each entity is currently listed under
+    private final IdentityHashMap<Entity, int[]> ranges = new IdentityHashMap<>();
+
+    public SpatialGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize Cell edge in pixels, should be about the size of the largest entity
+     */
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds an entity at its current position, does nothing if it is already in the grid
+     *
+     * @param entity Entity to track
+     */
+    public void insert(Entity entity) {
+        if (ranges.containsKey(entity)) return;
+        int[] range = new int[4];
+        computeRange(entity, range);
+        ranges.put(entity, range);
+        addToCells(entity, range);
+    }
+
+    /**
+     * Stops tracking an entity
+     *
+     * @param entity Entity to remove
+     */
+    public void remove(Entity entity) {
+        int[] range = ranges.remove(entity);
+        if (range != null) {
+            removeFromCells(entity, range);
+        }
+    }
+
+    /**
+     * Re-buckets an entity after it moved. Cheap when it stayed within the same cells,
+     * ignored for entities that are not in the grid.
+     *
+     * @param entity Entity that moved
+     */
+    public void update(Entity entity) {
+        int[] range = ranges.get(entity);
+        if (range == null) return;
+        int minX = cellOf(entity.getX());
+        int minY = cellOf(entity.getY());
+        int maxX = cellOf(entity.getX() + entity.getHitboxWidth());
+        int maxY = cellOf(entity.getY() + entity.getHitboxHeight());
+        if (minX == range[0] && minY == range[1] && maxX == range[2] && maxY == range[3]) return;
+
+        removeFromCells(entity, range);
+        range[0] = minX;
+        range[1] = minY;
+        range[2] = maxX;
+        range[3] = maxY;
+        addToCells(entity, range);
+    }
+
+    /**
+     * Removes every entity
+     */
+    public void clear() {
+        ranges.clear();
+        Arrays.fill(sizes, 0);
+        for (Entity[] bucket : buckets) {
+            if (bucket != null) {
+                Arrays.fill(bucket, null);
+            }
+        }
+    }
+
+    /**
+     * @param coordinate World coordinate in pixels
+     * @return Cell index along that axis
+     */
+    public int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * @return Bucket holding the entities of the cell
+     */
+    public int bucketOf(int cellX, int cellY) {
+        return (cellX * 73856093 ^ cellY * 19349663) & (BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @param bucket Bucket index from {@link #bucketOf(int, int)}
+     * @return Entities of the bucket, only the first {@link #getBucketSize(int)} entries are valid
+     */
+    public Entity[] getBucket(int bucket) {
+        return buckets[bucket];
+    }
+
+    public int getBucketSize(int bucket) {
+        return sizes[bucket];
+    }
+
+    /**
+     * @return Number of tracked entities
+     */
+    public int size() {
+        return ranges.size();
+    }
+
+    private void computeRange(Entity entity, int[] range) {
+        range[0] = cellOf(entity.getX());
+        range[1] = cellOf(entity.getY());
+        range[2] = cellOf(entity.getX() + entity.getHitboxWidth());
+        range[3] = cellOf(entity.getY() + entity.getHitboxHeight());
+    }
+
+    private void addToCells(Entity entity, int[] range) {
+        for (int cy = range[1]; cy <= range[3]; cy++) {
+            for (int cx = range[0]; cx <= range[2]; cx++) {
+                int bucket = bucketOf(cx, cy);
+                if (buckets[bucket] == null) {
+                    buckets[bucket] = new Entity[INITIAL_BUCKET_CAPACITY];
+                } else if (sizes[bucket] == buckets[bucket].length) {
+                    buckets[bucket] = Arrays.copyOf(buckets[bucket], sizes[bucket] * 2);
+                }
+                buckets[bucket][sizes[bucket]++] = entity;
+            }
+        }
+    }
+
+    private void removeFromCells(Entity entity, int[] range) {
+        for (int cy = range[1]; cy <= range[3]; cy++) {
+            for (int cx = range[0]; cx <= range[2]; cx++) {
+                int bucket = bucketOf(cx, cy);
+                Entity[] entries = buckets[bucket];
+                for (int i = 0; i < sizes[bucket]; i++) {
+                    if (entries[i] == entity) {
+                        entries[i] = entries[--sizes[bucket]];
+                        entries[sizes[bucket]] = null;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.gamefx;
+
+import org.example.gamefx.utils.Logger;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Detects FX thread stalls. The game loop beats a heartbeat at the start of every frame; when
+ * it has not advanced within the threshold, a daemon thread samples the FX thread's stack until
+ * the loop recovers, then appends a compact hitch report with the running phase and the most
+ * frequent stacks to a file. Sampling only happens during a stall, a healthy game pays for one
+ * volatile write per frame and phase.
+ */
+public class StallWatchdog {
+    private static final long POLL_INTERVAL = 10_000_000L;
+    private static final long SAMPLE_INTERVAL = 5_000_000L;
+    private static final int MAX_SAMPLES = 40;
+    private static final int STACK_DEPTH = 12;
+    private static final int REPORTED_STACKS = 3;
+    // A loop that is stuck this long is reported without waiting for it to recover
+    private static final long HANG_REPORT_TIME = 5_000_000_000L;
+
+    private final long thresholdNanos;
+    private final String reportFile;
+    private Thread watchedThread;
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile long heartbeat;
+    private volatile String phase = "idle";
+    private long stalls = 0;
+
+    /**
+     * @param thresholdMillis Time without a heartbeat after which the loop counts as stalled
+     * @param reportFile File hitch reports are appended to
+     */
+    public StallWatchdog(long thresholdMillis, String reportFile) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Starts watching the calling thread, normally the FX thread
+     */
+    public void start() {
+        if (running) return;
+        watchedThread = Thread.currentThread();
+        heartbeat = System.nanoTime();
+        running = true;
+        thread = new Thread(this::run, "stall-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Marks the start of a frame
+     */
+    public void beat() {
+        heartbeat = System.nanoTime();
+    }
+
+    /**
+     * @param phase Name of the loop phase now running, shown in hitch reports
+     */
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    private void run() {
+        while (running) {
+            long beat = heartbeat;
+            long stalled = System.nanoTime() - beat;
+            if (stalled < thresholdNanos) {
+                LockSupport.parkNanos(Math.min(POLL_INTERVAL, thresholdNanos - stalled));
+                continue;
+            }
+            sampleStall(beat);
+        }
+    }
+
+    /**
+     * Samples the watched thread until the heartbeat moves on, then writes the report
+     *
+     * @param beat Heartbeat value of the stalled frame
+     */
+    private void sampleStall(long beat) {
+        java.util.Map<String, Integer> stackCounts = new HashMap<>();
+        Set<String> phases = new LinkedHashSet<>();
+        int samples = 0;
+        boolean reportedHang = false;
+
+        while (running && heartbeat == beat) {
+            if (samples < MAX_SAMPLES) {
+                phases.add(phase);
+                stackCounts.merge(formatStack(watchedThread.getStackTrace()), 1, Integer::sum);
+                samples++;
+            }
+            if (!reportedHang && System.nanoTime() - beat > HANG_REPORT_TIME) {
+                report(System.nanoTime() - beat, true, phases, stackCounts, samples);
+                reportedHang = true;
+            }
+            LockSupport.parkNanos(SAMPLE_INTERVAL);
+        }
+        if (running) {
+            report(heartbeat - beat, false, phases, stackCounts, samples);
+        }
+    }
+
+    private static String formatStack(StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(stack.length, STACK_DEPTH); i++) {
+            sb.append("      at ").append(stack[i]).append('\n');
+        }
+        if (stack.length > STACK_DEPTH) {
+            sb.append("      ... ").append(stack.length - STACK_DEPTH).append(" more\n");
+        }
+        return sb.toString();
+    }
+
+    private void report(long stallNanos, boolean ongoing, Set<String> phases,
+                        java.util.Map<String, Integer> stackCounts, int samples) {
+        stalls++;
+        String summary = String.format("%s %.1f ms in phase %s (%d samples)",
+                ongoing ? "FX thread hung for" : "FX thread stalled for",
+                stallNanos / 1e6, String.join(" -> ", phases), samples);
+        Logger.getInstance().log(Logger.Level.WARNING, summary);
+
+        List<java.util.Map.Entry<String, Integer>> stacks = new ArrayList<>(stackCounts.entrySet());
+        stacks.sort((a, b) -> b.getValue() - a.getValue());
+        try (PrintWriter out = new PrintWriter(new FileWriter(reportFile, true))) {
+            out.println(LocalDateTime.now() + " " + summary);
+            for (int i = 0; i < Math.min(REPORTED_STACKS, stacks.size()); i++) {
+                out.println("  " + stacks.get(i).getValue() + "/" + samples + " samples:");
+                out.print(stacks.get(i).getKey());
+            }
+            out.println();
+        } catch (IOException e) {
+            Logger.getInstance().log(Logger.Level.ERROR, "Can't write hitch report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of stalls reported so far
+     */
+    public long getStalls() {
+        return stalls;
+    }
+}
@@ -1,16 +1,22 @@
 package org.example.gamefx;
 
-import javafx.scene.canvas.GraphicsContext;
 import org.example.gamefx.display.Camera;
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.ViewCuller;
 import org.example.gamefx.entities.DuckEnemy;
 import org.example.gamefx.entities.Enemy;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.entities.SheepEnemy;
+import org.example.gamefx.jfr.LevelLoadEvent;
 import org.example.gamefx.objects.Chest;
 import org.example.gamefx.objects.Door;
 import org.example.gamefx.objects.GameObject;
 import org.example.gamefx.objects.Tree;
+import org.example.gamefx.utils.AssetCache;
 import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -24,11 +30,19 @@ public class World {
     private int height;
     private Map map;
     private Collision collision;
+    private CollisionMap collisionMap;
     private List<Enemy> enemies = new ArrayList<>();
     private List<GameObject> gameObjects = new ArrayList<>();
+    private final SpatialGrid entityGrid = new SpatialGrid();
+    // Grown by the farthest an entity moves in a tick plus the player's attack reach, on both boxes of a pair
+    private static final double BROADPHASE_MARGIN = 64;
+    private final Broadphase broadphase = new Broadphase(BROADPHASE_MARGIN);
     private Player player;
     private Camera camera;
+    private ViewCuller culler = new ViewCuller();
+    private RenderQueue renderQueue = new RenderQueue();
     private Level currentLevel;
+    private final GameClock clock = new GameClock();
 
 
     /**
@@ -45,11 +59,46 @@ public class World {
         this.width = width;
         this.height = height;
         this.currentLevel = level;
-        this.map = new Map(widthTiles, heightTiles, level.getMapFileName());
         this.camera = new Camera(width, height);
-        this.map = new Map(widthTiles, heightTiles, level.getMapFileName());
         this.collision = new Collision(this);
+        loadLevel(level, widthTiles, heightTiles, false);
+    }
+
+    /**
+     * Builds the map, lets the level place its objects and enemies and builds the collision
+     * bitmap, timing both steps in a {@link LevelLoadEvent}
+     *
+     * @param level Level to load
+     * @param widthTiles Map width in tiles
+     * @param heightTiles Map height in tiles
+     * @param transition True when replacing the level of a running game
+     * @throws IOException If level resources can't be loaded
+     */
+    private void loadLevel(Level level, int widthTiles, int heightTiles, boolean transition) throws IOException {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
+        long mapStart = System.nanoTime();
+        this.map = new Map(widthTiles, heightTiles, level.getMapFileName());
+        if (transition) {
+            // Bake on the updating thread, the first frame after the transition only blits chunks
+            map.prebake();
+        }
+        event.mapInit = System.nanoTime() - mapStart;
+
+        long loadStart = System.nanoTime();
+        collisionMap = null;
         level.load(this);
+        this.collisionMap = new CollisionMap(map, gameObjects);
+        event.levelLoad = System.nanoTime() - loadStart;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.level = level.getClass().getSimpleName();
+            event.transition = transition;
+            event.enemies = enemies.size();
+            event.objects = gameObjects.size();
+            event.commit();
+        }
     }
 
     public Level getCurLvl() {
@@ -61,16 +110,27 @@ public class World {
      * - Enemy behavior and cleanup
      * - Camera positioning
      *
+     * @param clock Simulation clock, already advanced for this tick
      * @throws IOException If level transition fails
      */
-    public void update() throws IOException {
+    public void update(GameClock clock) throws IOException {
+        Profiler.getInstance().begin("World.update");
+        try {
+            updateEntities(clock);
+        } finally {
+            Profiler.getInstance().end();
+        }
+    }
+
+    private void updateEntities(GameClock clock) throws IOException {
         // Game object updates
         List<GameObject> objectsToRemove = new ArrayList<>();
         List<Level> levelsToChange = new ArrayList<>();
 
         for (GameObject obj : new ArrayList<>(gameObjects)) { // Kopie seznamu pro bezpečnou iteraci
-            obj.update(player);
+            obj.update(player, clock);
         }
+        collisionMap.sync(); // e.g. an opened door
         // Change level if needed
         if (!levelsToChange.isEmpty()) {
             changeLevel(levelsToChange.get(0));
@@ -80,11 +140,16 @@ public class World {
         // Elimination of enemies
         List<Enemy> enemiesToRemove = new ArrayList<>();
         for (Enemy enemy : enemies) {
-            enemy.update(player);
+            enemy.storePreviousPosition();
+            enemy.update(player, clock);
             if (enemy.shouldRemove()) {
                 enemiesToRemove.add(enemy);
             }
         }
+        for (Enemy enemy : enemiesToRemove) {
+            entityGrid.remove(enemy);
+            broadphase.remove(enemy);
+        }
         enemies.removeAll(enemiesToRemove);
 
         // Camera updates
@@ -108,39 +173,163 @@ public class World {
         List<Enemy> enemiesToClear = new ArrayList<>(enemies);
 
         gameObjects.removeAll(objectsToClear);
+        for (GameObject obj : objectsToClear) {
+            obj.dispose();
+        }
         enemies.removeAll(enemiesToClear);
+        entityGrid.clear();
+        broadphase.clear();
+        if (player != null) {
+            entityGrid.insert(player);
+            broadphase.insert(player);
+        }
 
         this.currentLevel = newLevel;
         LevelManager.setCurLevel(newLevel);
-        this.map = new Map(map.getWidthTiles(), map.getHeightTiles(), newLevel.getMapFileName());
-
-        newLevel.load(this);
+        map.dispose();
+        loadLevel(newLevel, map.getWidthTiles(), map.getHeightTiles(), true);
         player.setPosition(100, 100);
+        camera.update(map);
+        camera.snap();
+        Logger.getInstance().info("Asset cache after level change: " + AssetCache.getInstance().getStats());
     }
 
     public void addEnemy(Enemy enemy) {
         enemies.add(enemy);
+        entityGrid.insert(enemy);
+        broadphase.insert(enemy);
+    }
+
+    /**
+     * Removes every enemy, e.g. before restoring them from a save
+     */
+    public void clearEnemies() {
+        for (Enemy enemy : enemies) {
+            entityGrid.remove(enemy);
+            broadphase.remove(enemy);
+        }
+        enemies.clear();
     }
 
     public void addObject(GameObject object) {
         gameObjects.add(object);
+        if (collisionMap != null) {
+            collisionMap.addObject(object);
+        }
     }
 
     /**
-     * Renders all world elements with camera offset
+     * Renders world elements inside the camera view with camera offset.
+     * Off-screen tiles, objects and enemies are culled.
      *
-     * @param gc Graphics context for drawing
+     * @param renderer Render target
      * @param cameraX Horizontal camera offset
      * @param cameraY Vertical camera offset
      */
-    public void render(GraphicsContext gc, int cameraX, int cameraY) {
-        map.render(gc, cameraX, cameraY);
+    public void render(Renderer renderer, int cameraX, int cameraY) {
+        beginFrame();
+        renderMap(renderer, cameraX, cameraY);
+        renderEntities(renderQueue, cameraX, cameraY);
+        renderQueue.flush(renderer);
+    }
+
+    /**
+     * Starts a new render frame: computes the visible area and resets culling counters
+     */
+    public void beginFrame() {
+        culler.begin(camera, map);
+    }
+
+    /**
+     * Renders the static tile layer
+     *
+     * @param renderer Render target
+     * @param cameraX Horizontal camera offset
+     * @param cameraY Vertical camera offset
+     */
+    public void renderMap(Renderer renderer, int cameraX, int cameraY) {
+        map.render(renderer, cameraX, cameraY, culler);
+    }
+
+    /**
+     * Queues visible game objects and enemies, the caller flushes the queue
+     *
+     * @param queue Render command buffer
+     * @param cameraX Horizontal camera offset
+     * @param cameraY Vertical camera offset
+     */
+    public void renderEntities(RenderQueue queue, int cameraX, int cameraY) {
+        renderEntities(queue, culler, cameraX, cameraY);
+    }
+
+    /**
+     * Queues game objects and enemies visible to the given culler
+     *
+     * @param queue Render command buffer
+     * @param culler Culling stage holding the visible area
+     * @param cameraX Horizontal camera offset
+     * @param cameraY Vertical camera offset
+     */
+    public void renderEntities(RenderQueue queue, ViewCuller culler, int cameraX, int cameraY) {
+        renderEntities(queue, culler, cameraX, cameraY, 1.0);
+    }
+
+    /**
+     * Queues game objects and enemies visible to the given culler, with enemies blended
+     * between their previous and current tick positions
+     *
+     * @param queue Render command buffer
+     * @param culler Culling stage holding the visible area
+     * @param cameraX Horizontal camera offset
+     * @param cameraY Vertical camera offset
+     * @param alpha Interpolation factor between the previous and current tick
+     */
+    public void renderEntities(RenderQueue queue, ViewCuller culler, int cameraX, int cameraY, double alpha) {
         for (GameObject obj : gameObjects) {
-            obj.render(gc, 64, cameraX, cameraY);
+            if (obj.isVisible(culler)) {
+                obj.render(queue, 64, cameraX, cameraY);
+            }
         }
         for (Enemy enemy : enemies) {
-            enemy.render(gc, 64, cameraX, cameraY);
-            enemy.renderHP(gc, cameraX, cameraY);
+            if (enemy.isVisible(culler)) {
+                enemy.render(queue, 64, cameraX, cameraY, alpha);
+                enemy.renderHP(queue, cameraX, cameraY, alpha);
+            }
+        }
+    }
+
+    /**
+     * Fills the key with the camera position and map contents the map layer is drawn from
+     *
+     * @param key Key to fill
+     * @param cameraX Camera X the layer is drawn with
+     * @param cameraY Camera Y the layer is drawn with
+     */
+    public void writeMapKey(RenderKey key, int cameraX, int cameraY) {
+        key.begin().add(cameraX).add(cameraY).addRef(map).add(map.getVersion());
+    }
+
+    /**
+     * Fills the key with the camera and the object, enemy and player render state
+     * the entity layer is drawn from
+     *
+     * @param key Key to fill
+     * @param cameraX Camera X the layer is drawn with
+     * @param cameraY Camera Y the layer is drawn with
+     * @param alpha Interpolation factor the layer is drawn with
+     */
+    public void writeEntityKey(RenderKey key, int cameraX, int cameraY, double alpha) {
+        key.begin().add(cameraX).add(cameraY);
+        key.add(gameObjects.size());
+        for (GameObject obj : gameObjects) {
+            obj.addRenderState(key);
+        }
+        key.add(enemies.size());
+        for (Enemy enemy : enemies) {
+            enemy.addRenderState(key, alpha);
+        }
+        if (player != null) {
+            key.add(player.getRenderX(alpha)).add(player.getRenderY(alpha)).addRef(player.getImage());
         }
     }
 
@@ -155,6 +344,13 @@ public class World {
         return collision;
     }
 
+    /**
+     * @return Static collision bitmap of the current level
+     */
+    public CollisionMap getCollisionMap() {
+        return collisionMap;
+    }
+
     /**
      * @return Active game map configuration
      */
@@ -181,7 +377,40 @@ public class World {
      * @param player Player entity instance
      */
     public void setPlayer(Player player) {
+        if (this.player != null) {
+            entityGrid.remove(this.player);
+            broadphase.remove(this.player);
+        }
         this.player = player;
+        entityGrid.insert(player);
+        broadphase.insert(player);
+    }
+
+    /**
+     * @return Spatial hash of enemy and player hitboxes, kept up to date as they move
+     */
+    public SpatialGrid getEntityGrid() {
+        return entityGrid;
+    }
+
+    /**
+     * Sorts the entities and collects the pairs that may touch during this tick. Called once
+     * per tick before anything moves; movement, attacks and enemy triggers read the pairs.
+     */
+    public void updateBroadphase() {
+        Profiler.getInstance().begin("Broadphase.update");
+        try {
+            broadphase.update();
+        } finally {
+            Profiler.getInstance().end();
+        }
+    }
+
+    /**
+     * @return Candidate contact pairs of the current tick
+     */
+    public Broadphase getBroadphase() {
+        return broadphase;
     }
 
     public void setDimensions(int width, int height) {
@@ -192,7 +421,39 @@ public class World {
     public int getWidth() { return width; }
     public int getHeight() { return height; }
 
+    /**
+     * Makes enemies and camera render at their current position for any interpolation factor
+     * (e.g. while the clock is paused)
+     */
+    public void storePreviousPositions() {
+        for (Enemy enemy : enemies) {
+            enemy.storePreviousPosition();
+        }
+        camera.snap();
+    }
+
+    /**
+     * @return Simulation clock shared by everything in this world
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
     public Camera getCamera() {
         return camera;
     }
+
+    /**
+     * @return Culling stage with drawn/culled counts of the last rendered frame
+     */
+    public ViewCuller getCuller() {
+        return culler;
+    }
+
+    /**
+     * @return Command buffer the entity layer is recorded into
+     */
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package org.example.gamefx;
+
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.Renderer;
+import org.example.gamefx.display.ViewCuller;
+
+/**
+ * Render state of one simulation tick: camera, culling range, recorded map, entity and HUD
+ * draw commands, the keys used for layer invalidation and the game outcome flags. Written by
+ * the simulation thread, read-only once published through a {@link SnapshotBuffer}, then
+ * recycled. It references no live world state: map chunks are baked before their blits are
+ * recorded and a rebaked chunk is a new image, so the FX thread only reads finished images.
+ */
+public class WorldSnapshot {
+    private final RenderQueue mapLayer = new RenderQueue(64);
+    private final Renderer mapRecorder;
+    private final RenderQueue entities = new RenderQueue();
+    private final RenderQueue hud = new RenderQueue(64);
+    private final Renderer hudRecorder;
+    private final ViewCuller culler = new ViewCuller();
+
+    private long tick = -1;
+    private int cameraX;
+    private int cameraY;
+    private final RenderKey mapKey = new RenderKey();
+    private final RenderKey entityKey = new RenderKey();
+    private final RenderKey hudKey = new RenderKey();
+    private boolean levelComplete;
+    private boolean playerDead;
+
+    /**
+     * @param width Viewport width in pixels
+     * @param height Viewport height in pixels
+     */
+    public WorldSnapshot(int width, int height) {
+        this.mapRecorder = mapLayer.recorder(RenderQueue.LAYER_WORLD, width, height);
+        this.hudRecorder = hud.recorder(RenderQueue.LAYER_HUD, width, height);
+    }
+
+    /**
+     * Resets the snapshot for recording a new tick
+     *
+     * @param tick Simulation tick being recorded
+     * @param world World to take camera and map from
+     */
+    void begin(long tick, World world) {
+        this.tick = tick;
+        this.cameraX = (int) world.getCamera().getX();
+        this.cameraY = (int) world.getCamera().getY();
+        world.writeMapKey(mapKey, cameraX, cameraY);
+        world.writeEntityKey(entityKey, cameraX, cameraY, 1.0);
+        hudKey.begin();
+        mapLayer.clear();
+        entities.clear();
+        hud.clear();
+        culler.begin(world.getCamera(), world.getMap());
+    }
+
+    /**
+     * Records how the tick ended for the FX thread's state transitions
+     *
+     * @param levelComplete True if the level's exit was reached
+     * @param playerDead True if the player has died
+     */
+    void setOutcome(boolean levelComplete, boolean playerDead) {
+        this.levelComplete = levelComplete;
+        this.playerDead = playerDead;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isLevelComplete() {
+        return levelComplete;
+    }
+
+    public boolean isPlayerDead() {
+        return playerDead;
+    }
+
+    public int getCameraX() {
+        return cameraX;
+    }
+
+    public int getCameraY() {
+        return cameraY;
+    }
+
+    public RenderKey getMapKey() {
+        return mapKey;
+    }
+
+    public RenderKey getEntityKey() {
+        return entityKey;
+    }
+
+    /**
+     * @return Key of the HUD state, filled by the recorder after {@link #begin(long, World)}
+     */
+    public RenderKey getHudKey() {
+        return hudKey;
+    }
+
+    /**
+     * @return Recorded map chunk blits of this tick
+     */
+    public RenderQueue getMapLayer() {
+        return mapLayer;
+    }
+
+    /**
+     * @return Renderer recording into {@link #getMapLayer()}
+     */
+    public Renderer getMapRecorder() {
+        return mapRecorder;
+    }
+
+    /**
+     * @return Recorded objects, enemies and player of this tick
+     */
+    public RenderQueue getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return Recorded inventory bar and hearts of this tick
+     */
+    public RenderQueue getHud() {
+        return hud;
+    }
+
+    /**
+     * @return Renderer recording into {@link #getHud()}
+     */
+    public Renderer getHudRecorder() {
+        return hudRecorder;
+    }
+
+    /**
+     * @return Culling stage holding this tick's visible area
+     */
+    public ViewCuller getCuller() {
+        return culler;
+    }
+}
@@ -9,6 +9,9 @@ import org.example.gamefx.entities.Player;
 public class Camera {
     private int x;
     private int y;
+    // Position before the last update, used for render interpolation
+    private int prevX;
+    private int prevY;
     private int width;
     private int height;
     private Player player;
@@ -32,6 +35,8 @@ public class Camera {
      * @param map Current game map for boundary checking
      */
     public void update(Map map) {
+        prevX = x;
+        prevY = y;
         if (player != null) {
             double playerX = player.getX();
             double playerY = player.getY();
@@ -55,6 +60,38 @@ public class Camera {
         return y;
     }
 
+    /**
+     * @param alpha Fraction of the current tick elapsed since the last update, 0.0 to 1.0
+     * @return Camera X blended between the previous and current tick
+     */
+    public double getRenderX(double alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    /**
+     * @param alpha Fraction of the current tick elapsed since the last update, 0.0 to 1.0
+     * @return Camera Y blended between the previous and current tick
+     */
+    public double getRenderY(double alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    /**
+     * Drops the previous position so the next frames don't interpolate across a jump (e.g. level change)
+     */
+    public void snap() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
     /**
      * Adjusts the camera position to ensure it doesn't move outside the map boundaries.
      *
@@ -0,0 +1,117 @@
+package org.example.gamefx.display;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+
+/**
+ * Headless renderer that draws nothing and only counts calls.
+ * Used to measure draw calls and frame-build time without a display.
+ */
+public class CountingRenderer implements Renderer {
+    private final double width;
+    private final double height;
+
+    private long imageDraws = 0;
+    private long shapeDraws = 0;
+    private long textDraws = 0;
+    private long clears = 0;
+    private long stateChanges = 0;
+
+    /**
+     * @param width Reported target width in pixels
+     * @param height Reported target height in pixels
+     */
+    public CountingRenderer(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void clearRect(double x, double y, double w, double h) {
+        clears++;
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        imageDraws++;
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        stateChanges++;
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        stateChanges++;
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        stateChanges++;
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        shapeDraws++;
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        shapeDraws++;
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        textDraws++;
+    }
+
+    @Override
+    public double getWidth() {
+        return width;
+    }
+
+    @Override
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Total image, shape and text draws since the last reset
+     */
+    public long getDrawCalls() {
+        return imageDraws + shapeDraws + textDraws;
+    }
+
+    public long getImageDraws() {
+        return imageDraws;
+    }
+
+    public long getShapeDraws() {
+        return shapeDraws;
+    }
+
+    public long getTextDraws() {
+        return textDraws;
+    }
+
+    public long getClears() {
+        return clears;
+    }
+
+    public long getStateChanges() {
+        return stateChanges;
+    }
+
+    /**
+     * Resets all counters to zero
+     */
+    public void reset() {
+        imageDraws = 0;
+        shapeDraws = 0;
+        textDraws = 0;
+        clears = 0;
+        stateChanges = 0;
+    }
+}
@@ -13,8 +13,14 @@ import org.example.gamefx.Input;
  * Manages game window and JavaFX UI components
  */
 public class Display {
+    /**
+     * Gameplay canvas layers, bottom to top
+     */
+    public enum Layer { MAP, ENTITIES, HUD }
+
     private Stage stage;
     private Canvas canvas;
+    private final Canvas[] layers = new Canvas[Layer.values().length];
     private StackPane root;
 
     /**
@@ -28,6 +34,9 @@ public class Display {
         this.stage = stage;
 
         canvas = new Canvas(width, height);
+        for (Layer layer : Layer.values()) {
+            layers[layer.ordinal()] = new Canvas(width, height);
+        }
         root = new StackPane(canvas);
         Scene scene = new Scene(root, width, height);
         Input input = Input.getInstance();
@@ -52,6 +61,23 @@ public class Display {
         return canvas;
     }
 
+    /**
+     * @param layer Gameplay layer
+     * @return Canvas of the layer, each layer is repainted independently
+     */
+    public Canvas getLayer(Layer layer) {
+        return layers[layer.ordinal()];
+    }
+
+    /**
+     * Adds all gameplay layer canvases to the root pane in stacking order
+     */
+    public void showLayers() {
+        for (Canvas layer : layers) {
+            root.getChildren().add(layer);
+        }
+    }
+
     public Stage getStage() {
         return stage;
     }
@@ -0,0 +1,120 @@
+package org.example.gamefx.display;
+
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+import org.example.gamefx.utils.LatencyHistogram;
+import org.example.gamefx.utils.Profiler;
+
+/**
+ * On-screen overlay with frame, update and render time percentiles. Drawn on its own
+ * canvas above every state, toggled with F3. The text is rebuilt a few times per second,
+ * so the overlay itself does not show up in the frame times it reports.
+ * While the {@link Profiler} is enabled, the zones of the last frame are drawn below as a
+ * flame view: one row per nesting level, bar width proportional to the time spent.
+ */
+public class FrameStatsOverlay {
+    private static final long REFRESH_INTERVAL = 250_000_000L;
+    private static final double LINE_HEIGHT = 16;
+    private static final double FLAME_WIDTH = 560;
+    private static final double BAR_HEIGHT = 18;
+    private static final Color[] BAR_COLORS = {
+            Color.rgb(200, 80, 40), Color.rgb(220, 140, 40), Color.rgb(200, 170, 60), Color.rgb(170, 110, 50)
+    };
+
+    private final Display display;
+    private final Canvas canvas;
+    private final Renderer renderer;
+    private boolean visible = false;
+    private long lastRefresh = 0;
+
+    /**
+     * @param display Display the overlay is stacked on
+     */
+    public FrameStatsOverlay(Display display) {
+        this.display = display;
+        this.canvas = new Canvas(display.getWidth(), display.getHeight());
+        this.canvas.setMouseTransparent(true);
+        this.renderer = new JavaFxRenderer(canvas);
+    }
+
+    /**
+     * Shows or hides the overlay
+     */
+    public void toggle() {
+        setVisible(!visible);
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        if (!visible) {
+            display.getRootPane().getChildren().remove(canvas);
+        }
+        lastRefresh = 0;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Redraws the statistics if visible and the refresh interval has passed
+     *
+     * @param now Current time in nanoseconds
+     * @param fps Frames of the last second
+     * @param ups Updates of the last second
+     * @param frames Time between frames
+     * @param updates Time per simulation tick
+     * @param renders Time per render pass
+     */
+    public void render(long now, int fps, int ups, LatencyHistogram frames,
+                       LatencyHistogram updates, LatencyHistogram renders) {
+        if (!visible) return;
+        // States clear the root pane when they switch, keep the overlay on top
+        ObservableList<Node> children = display.getRootPane().getChildren();
+        if (children.isEmpty() || children.get(children.size() - 1) != canvas) {
+            children.remove(canvas);
+            children.add(canvas);
+        }
+        if (now - lastRefresh < REFRESH_INTERVAL) return;
+        lastRefresh = now;
+
+        renderer.clearRect(0, 0, renderer.getWidth(), renderer.getHeight());
+        renderer.setFill(Color.rgb(0, 0, 0, 0.6));
+        renderer.fillRect(4, 4, 330, LINE_HEIGHT * 4 + 8);
+        renderer.setFill(Color.LIME);
+        double y = 4 + LINE_HEIGHT;
+        renderer.fillText("FPS " + fps + "  UPS " + ups, 10, y);
+        renderer.fillText("frame  " + frames.summary(), 10, y += LINE_HEIGHT);
+        renderer.fillText("update " + updates.summary(), 10, y += LINE_HEIGHT);
+        renderer.fillText("render " + renders.summary(), 10, y + LINE_HEIGHT);
+
+        Profiler profiler = Profiler.getInstance();
+        if (profiler.isEnabled() && profiler.getNanos(0) > 0) {
+            double scale = FLAME_WIDTH / profiler.getNanos(0);
+            drawZone(profiler, 0, 10, LINE_HEIGHT * 4 + 20, scale);
+        }
+    }
+
+    /**
+     * Draws a zone bar and its children left to right on the row below
+     */
+    private void drawZone(Profiler profiler, int node, double x, double y, double scale) {
+        double width = profiler.getNanos(node) * scale;
+        if (width < 1) return;
+        renderer.setFill(BAR_COLORS[profiler.getDepth(node) % BAR_COLORS.length]);
+        renderer.fillRect(x, y, width, BAR_HEIGHT - 2);
+        if (width > 60) {
+            renderer.setFill(Color.BLACK);
+            renderer.fillText(String.format("%s %.2f ms x%d", profiler.getName(node),
+                    profiler.getNanos(node) / 1e6, profiler.getCalls(node)), x + 3, y + BAR_HEIGHT - 5);
+        }
+        double childX = x;
+        for (int child = profiler.getFirstChild(node); child != -1; child = profiler.getNextSibling(child)) {
+            if (profiler.getCalls(child) == 0) continue;
+            drawZone(profiler, child, childX, y + BAR_HEIGHT, scale);
+            childX += profiler.getNanos(child) * scale;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.gamefx.display;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.example.gamefx.entities.Player;
+
+/**
+ * Cached HUD (inventory bar and hearts) rendered into an offscreen image.
+ * The image is rebuilt only after an inventory mutation or an HP change,
+ * otherwise drawing the HUD costs a single blit.
+ * Without JavaFX (headless renderers) the HUD is drawn directly into the target instead.
+ */
+public class HudCache {
+    private final Player player;
+    private final Canvas offscreen;
+    private final JavaFxRenderer offscreenRenderer;
+    private final SnapshotParameters snapshotParams;
+    private WritableImage image;
+    private boolean valid = false;
+
+    private int cachedInventoryVersion = -1;
+    private int cachedHp = -1;
+
+    /**
+     * Creates HUD that draws directly into the target without an offscreen image
+     *
+     * @param player Player whose inventory and health are shown
+     */
+    public HudCache(Player player) {
+        this.player = player;
+        this.offscreen = null;
+        this.offscreenRenderer = null;
+        this.snapshotParams = null;
+    }
+
+    /**
+     * Creates HUD cached in an offscreen JavaFX image
+     *
+     * @param player Player whose inventory and health are shown
+     * @param width HUD width in pixels (viewport width)
+     * @param height HUD height in pixels (viewport height)
+     */
+    public HudCache(Player player, int width, int height) {
+        this.player = player;
+        this.offscreen = new Canvas(width, height);
+        this.offscreenRenderer = new JavaFxRenderer(offscreen);
+        this.snapshotParams = new SnapshotParameters();
+        this.snapshotParams.setFill(Color.TRANSPARENT);
+    }
+
+    /**
+     * @return True if the cached image no longer matches the inventory or HP
+     */
+    public boolean isDirty() {
+        return !valid
+                || cachedInventoryVersion != player.getInventory().getVersion()
+                || cachedHp != player.getHp();
+    }
+
+    /**
+     * Forces a rebuild on the next draw
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Draws the HUD, rebuilding the cached image first if it is dirty
+     *
+     * @param renderer Render target
+     */
+    public void draw(Renderer renderer) {
+        if (offscreen == null) {
+            player.getInventory().render(renderer);
+            player.renderHearts(renderer);
+            markValid();
+            return;
+        }
+        if (isDirty()) {
+            rebuild();
+        }
+        renderer.drawImage(image, 0, 0);
+    }
+
+    /**
+     * Renders inventory and hearts into the offscreen canvas and snapshots it
+     */
+    private void rebuild() {
+        offscreenRenderer.clearRect(0, 0, offscreen.getWidth(), offscreen.getHeight());
+        player.getInventory().render(offscreenRenderer);
+        player.renderHearts(offscreenRenderer);
+        image = offscreen.snapshot(snapshotParams, image);
+        markValid();
+    }
+
+    /**
+     * Remembers the inventory version and HP the HUD was last drawn for
+     */
+    private void markValid() {
+        cachedInventoryVersion = player.getInventory().getVersion();
+        cachedHp = player.getHp();
+        valid = true;
+    }
+}
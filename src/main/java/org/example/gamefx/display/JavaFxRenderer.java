@@ -0,0 +1,90 @@
+package org.example.gamefx.display;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+
+/**
+ * Renderer drawing into a JavaFX canvas
+ */
+public class JavaFxRenderer implements Renderer {
+    private final GraphicsContext gc;
+
+    /**
+     * @param canvas Canvas to draw into
+     */
+    public JavaFxRenderer(Canvas canvas) {
+        this(canvas.getGraphicsContext2D());
+    }
+
+    /**
+     * @param gc Graphics context to draw with
+     */
+    public JavaFxRenderer(GraphicsContext gc) {
+        this.gc = gc;
+    }
+
+    @Override
+    public void clearRect(double x, double y, double w, double h) {
+        gc.clearRect(x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double w, double h) {
+        gc.drawImage(image, x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        gc.setFill(paint);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        gc.setStroke(paint);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        gc.setLineWidth(width);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        gc.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        gc.strokeRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        gc.fillText(text, x, y);
+    }
+
+    @Override
+    public double getWidth() {
+        return gc.getCanvas().getWidth();
+    }
+
+    @Override
+    public double getHeight() {
+        return gc.getCanvas().getHeight();
+    }
+
+    /**
+     * @return Underlying JavaFX graphics context
+     */
+    public GraphicsContext getGraphicsContext() {
+        return gc;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.gamefx.display;
+
+import java.util.Arrays;
+
+/**
+ * Exact record of everything a cached layer was drawn from: numbers are stored bit for bit and
+ * images or maps by reference. Two keys are equal only if every component is, so unlike a hash
+ * a changed layer can never be mistaken for the one on screen. The arrays are reused between
+ * frames, building a key does not allocate once they have grown to size.
+ */
+public class RenderKey {
+    private long[] values = new long[32];
+    private Object[] refs = new Object[8];
+    private int valueCount = 0;
+    private int refCount = 0;
+
+    /**
+     * Drops all components so the key can be filled for a new frame
+     *
+     * @return This key, for chaining
+     */
+    public RenderKey begin() {
+        Arrays.fill(refs, 0, refCount, null);
+        valueCount = 0;
+        refCount = 0;
+        return this;
+    }
+
+    public RenderKey add(long value) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount * 2);
+        }
+        values[valueCount++] = value;
+        return this;
+    }
+
+    public RenderKey add(double value) {
+        return add(Double.doubleToLongBits(value));
+    }
+
+    public RenderKey add(boolean value) {
+        return add(value ? 1L : 0L);
+    }
+
+    /**
+     * Adds an object compared by identity, e.g. the image an entity is drawn with
+     *
+     * @param ref Object reference, may be null
+     * @return This key, for chaining
+     */
+    public RenderKey addRef(Object ref) {
+        if (refCount == refs.length) {
+            refs = Arrays.copyOf(refs, refCount * 2);
+        }
+        refs[refCount++] = ref;
+        return this;
+    }
+
+    /**
+     * @param other Key to compare with
+     * @return True if both keys hold the same components in the same order
+     */
+    public boolean matches(RenderKey other) {
+        if (valueCount != other.valueCount || refCount != other.refCount) return false;
+        for (int i = 0; i < refCount; i++) {
+            if (refs[i] != other.refs[i]) return false;
+        }
+        return Arrays.equals(values, 0, valueCount, other.values, 0, valueCount);
+    }
+
+    /**
+     * Replaces the contents of this key with the components of another
+     *
+     * @param other Key to copy
+     */
+    public void copyFrom(RenderKey other) {
+        begin();
+        if (values.length < other.valueCount) {
+            values = new long[other.values.length];
+        }
+        if (refs.length < other.refCount) {
+            refs = new Object[other.refs.length];
+        }
+        System.arraycopy(other.values, 0, values, 0, other.valueCount);
+        System.arraycopy(other.refs, 0, refs, 0, other.refCount);
+        valueCount = other.valueCount;
+        refCount = other.refCount;
+    }
+}
@@ -0,0 +1,427 @@
+package org.example.gamefx.display;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import org.example.gamefx.utils.Sprite;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Preallocated draw command buffer. Render code records commands instead of drawing directly,
+ * the buffer is then sorted by layer, Y coordinate and texture and flushed in a single pass
+ * that only touches renderer state (fill, stroke, line width) when it actually changes.
+ *
+ * Commands live in parallel primitive arrays, so recording a frame allocates nothing once
+ * the buffer has grown to the frame's size.
+ */
+public class RenderQueue {
+    // Sprites and objects, depth sorted by their base Y
+    public static final int LAYER_WORLD = 0;
+    // Health bars, prompts and debug text drawn above every sprite
+    public static final int LAYER_OVERLAY = 1;
+    // Screen-space HUD recorded through a recorder, kept in submission order
+    public static final int LAYER_HUD = 2;
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final byte OP_IMAGE = 0;
+    private static final byte OP_TEXT = 1;
+    private static final byte OP_STROKE_RECT = 2;
+    private static final byte OP_FILL_RECT = 3;
+
+    // Sort key layout (non-negative long): layer | biased Y | texture id | command index
+    private static final int INDEX_BITS = 20;
+    private static final int TEXTURE_BITS = 15;
+    private static final int Y_BITS = 25;
+    private static final int Y_BIAS = 1 << (Y_BITS - 1);
+    private static final int MAX_LAYER = 7;
+
+    private byte[] ops;
+    private double[] coords; // 8 per command: srcX, srcY, srcW, srcH, x, y, w, h
+    private Object[] refs;   // Image for OP_IMAGE, String for OP_TEXT
+    private Paint[] paints;
+    private double[] lineWidths;
+    private long[] keys;
+    private int size = 0;
+
+    // Texture ids of the recorded commands, reset with them so no texture outlives its frame
+    private final IdentityHashMap<Image, Integer> textureIds = new IdentityHashMap<>();
+
+    // Statistics of the last flush
+    private int flushedCommands = 0;
+    private int stateChanges = 0;
+    private int textureSwitches = 0;
+
+    /**
+     * Creates buffer with the default capacity
+     */
+    public RenderQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Initial number of commands the buffer can hold without growing
+     */
+    public RenderQueue(int capacity) {
+        ops = new byte[capacity];
+        coords = new double[capacity * 8];
+        refs = new Object[capacity];
+        paints = new Paint[capacity];
+        lineWidths = new double[capacity];
+        keys = new long[capacity];
+    }
+
+    /**
+     * Queues a sprite drawn at its natural size
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate, higher values are drawn later (in front)
+     * @param sprite Sprite to draw
+     * @param x Destination X
+     * @param y Destination Y
+     */
+    public void drawSprite(int layer, double sortY, Sprite sprite, double x, double y) {
+        drawSprite(layer, sortY, sprite, x, y, sprite.getWidth(), sprite.getHeight());
+    }
+
+    /**
+     * Queues a sprite scaled to the destination rectangle
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate, higher values are drawn later (in front)
+     * @param sprite Sprite to draw
+     * @param x Destination X
+     * @param y Destination Y
+     * @param w Destination width
+     * @param h Destination height
+     */
+    public void drawSprite(int layer, double sortY, Sprite sprite, double x, double y, double w, double h) {
+        add(OP_IMAGE, layer, sortY, sprite.getImage(), null, 0,
+                sprite.getSrcX(), sprite.getSrcY(), sprite.getWidth(), sprite.getHeight(), x, y, w, h);
+    }
+
+    /**
+     * Queues a whole image scaled to the destination rectangle
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate, higher values are drawn later (in front)
+     * @param image Image to draw
+     * @param x Destination X
+     * @param y Destination Y
+     * @param w Destination width
+     * @param h Destination height
+     */
+    public void drawImage(int layer, double sortY, Image image, double x, double y, double w, double h) {
+        add(OP_IMAGE, layer, sortY, image, null, 0, 0, 0, image.getWidth(), image.getHeight(), x, y, w, h);
+    }
+
+    /**
+     * Queues filled text
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate
+     * @param text Text to draw
+     * @param fill Text color
+     * @param x Baseline X
+     * @param y Baseline Y
+     */
+    public void fillText(int layer, double sortY, String text, Paint fill, double x, double y) {
+        add(OP_TEXT, layer, sortY, text, fill, 0, 0, 0, 0, 0, x, y, 0, 0);
+    }
+
+    /**
+     * Queues a rectangle outline
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate
+     * @param stroke Outline color
+     * @param lineWidth Outline width
+     * @param x Rectangle X
+     * @param y Rectangle Y
+     * @param w Rectangle width
+     * @param h Rectangle height
+     */
+    public void strokeRect(int layer, double sortY, Paint stroke, double lineWidth,
+                           double x, double y, double w, double h) {
+        add(OP_STROKE_RECT, layer, sortY, null, stroke, lineWidth, 0, 0, 0, 0, x, y, w, h);
+    }
+
+    /**
+     * Queues a filled rectangle
+     *
+     * @param layer Sort layer
+     * @param sortY Depth coordinate
+     * @param fill Fill color
+     * @param x Rectangle X
+     * @param y Rectangle Y
+     * @param w Rectangle width
+     * @param h Rectangle height
+     */
+    public void fillRect(int layer, double sortY, Paint fill, double x, double y, double w, double h) {
+        add(OP_FILL_RECT, layer, sortY, null, fill, 0, 0, 0, 0, 0, x, y, w, h);
+    }
+
+    /**
+     * Returns a renderer that records into this queue instead of drawing. Commands keep their
+     * submission order, so code written against {@link Renderer} (e.g. the HUD) can be recorded
+     * on one thread and flushed on another.
+     *
+     * @param layer Sort layer for every recorded command
+     * @param width Reported target width
+     * @param height Reported target height
+     * @return Recording renderer, reset its order with {@link #clear()}
+     */
+    public Renderer recorder(int layer, double width, double height) {
+        return new Recorder(layer, width, height);
+    }
+
+    /**
+     * Records one command and its sort key
+     */
+    private void add(byte op, int layer, double sortY, Object ref, Paint paint, double lineWidth,
+                     double sx, double sy, double sw, double sh, double x, double y, double w, double h) {
+        if (size == ops.length) {
+            grow();
+        }
+        int i = size++;
+        ops[i] = op;
+        refs[i] = ref;
+        paints[i] = paint;
+        lineWidths[i] = lineWidth;
+
+        int c = i * 8;
+        coords[c] = sx;
+        coords[c + 1] = sy;
+        coords[c + 2] = sw;
+        coords[c + 3] = sh;
+        coords[c + 4] = x;
+        coords[c + 5] = y;
+        coords[c + 6] = w;
+        coords[c + 7] = h;
+
+        long yKey = Math.max(0, Math.min((1L << Y_BITS) - 1, (long) Math.floor(sortY) + Y_BIAS));
+        long texture = op == OP_IMAGE ? textureId((Image) ref) : 0;
+        keys[i] = ((long) Math.min(layer, MAX_LAYER) << (Y_BITS + TEXTURE_BITS + INDEX_BITS))
+                | (yKey << (TEXTURE_BITS + INDEX_BITS))
+                | (texture << INDEX_BITS)
+                | i;
+    }
+
+    /**
+     * @param image Texture
+     * @return Small id of the texture, stable until {@link #clear()}, used to group draws of the same atlas page
+     */
+    private int textureId(Image image) {
+        Integer id = textureIds.get(image);
+        if (id == null) {
+            if (textureIds.size() == (1 << TEXTURE_BITS) - 1) {
+                textureIds.clear(); // ids only group draws, restarting numbering is harmless
+            }
+            id = textureIds.size() + 1;
+            textureIds.put(image, id);
+        }
+        return id;
+    }
+
+    /**
+     * Doubles the capacity of every command array
+     */
+    private void grow() {
+        int capacity = ops.length * 2;
+        if (capacity > 1 << INDEX_BITS) {
+            throw new IllegalStateException("Render queue overflow: " + ops.length + " commands");
+        }
+        ops = Arrays.copyOf(ops, capacity);
+        coords = Arrays.copyOf(coords, capacity * 8);
+        refs = Arrays.copyOf(refs, capacity);
+        paints = Arrays.copyOf(paints, capacity);
+        lineWidths = Arrays.copyOf(lineWidths, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /**
+     * Sorts the recorded commands, draws them and clears the buffer
+     *
+     * @param renderer Render target
+     */
+    public void flush(Renderer renderer) {
+        draw(renderer);
+        clear();
+    }
+
+    /**
+     * Sorts the recorded commands and draws them, keeping them for another draw
+     *
+     * @param renderer Render target
+     */
+    public void draw(Renderer renderer) {
+        Arrays.sort(keys, 0, size);
+
+        Paint currentFill = null;
+        Paint currentStroke = null;
+        double currentLineWidth = -1;
+        Object currentTexture = null;
+        stateChanges = 0;
+        textureSwitches = 0;
+
+        for (int k = 0; k < size; k++) {
+            int i = (int) (keys[k] & ((1 << INDEX_BITS) - 1));
+            int c = i * 8;
+            switch (ops[i]) {
+                case OP_IMAGE:
+                    if (refs[i] != currentTexture) {
+                        currentTexture = refs[i];
+                        textureSwitches++;
+                    }
+                    renderer.drawImage((Image) refs[i], coords[c], coords[c + 1], coords[c + 2], coords[c + 3],
+                            coords[c + 4], coords[c + 5], coords[c + 6], coords[c + 7]);
+                    break;
+                case OP_TEXT:
+                    if (paints[i] != currentFill) {
+                        currentFill = paints[i];
+                        renderer.setFill(currentFill);
+                        stateChanges++;
+                    }
+                    renderer.fillText((String) refs[i], coords[c + 4], coords[c + 5]);
+                    break;
+                case OP_FILL_RECT:
+                    if (paints[i] != currentFill) {
+                        currentFill = paints[i];
+                        renderer.setFill(currentFill);
+                        stateChanges++;
+                    }
+                    renderer.fillRect(coords[c + 4], coords[c + 5], coords[c + 6], coords[c + 7]);
+                    break;
+                case OP_STROKE_RECT:
+                    if (paints[i] != currentStroke) {
+                        currentStroke = paints[i];
+                        renderer.setStroke(currentStroke);
+                        stateChanges++;
+                    }
+                    if (lineWidths[i] != currentLineWidth) {
+                        currentLineWidth = lineWidths[i];
+                        renderer.setLineWidth(currentLineWidth);
+                        stateChanges++;
+                    }
+                    renderer.strokeRect(coords[c + 4], coords[c + 5], coords[c + 6], coords[c + 7]);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        flushedCommands = size;
+    }
+
+    /**
+     * Drops recorded commands without drawing them
+     */
+    public void clear() {
+        // Release references so textures evicted from the asset cache can be collected
+        Arrays.fill(refs, 0, size, null);
+        Arrays.fill(paints, 0, size, null);
+        textureIds.clear();
+        size = 0;
+    }
+
+    /**
+     * @return Number of commands recorded since the last flush
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of commands drawn by the last flush
+     */
+    public int getFlushedCommands() {
+        return flushedCommands;
+    }
+
+    /**
+     * @return Fill, stroke and line width changes issued by the last flush
+     */
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    /**
+     * @return Number of times the last flush switched to a different texture
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /**
+     * Renderer adapter that turns draw calls into queued commands, tracking fill, stroke
+     * and line width itself. The sort Y is a running sequence number to preserve call order.
+     */
+    private class Recorder implements Renderer {
+        private final int layer;
+        private final double width;
+        private final double height;
+        private Paint fill = Color.BLACK;
+        private Paint stroke = Color.BLACK;
+        private double lineWidth = 1.0;
+
+        private Recorder(int layer, double width, double height) {
+            this.layer = layer;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Clearing is left to the layer the queue is flushed into
+         */
+        @Override
+        public void clearRect(double x, double y, double w, double h) {}
+
+        @Override
+        public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                              double dx, double dy, double dw, double dh) {
+            add(OP_IMAGE, layer, size, image, null, 0, sx, sy, sw, sh, dx, dy, dw, dh);
+        }
+
+        @Override
+        public void setFill(Paint paint) {
+            fill = paint;
+        }
+
+        @Override
+        public void setStroke(Paint paint) {
+            stroke = paint;
+        }
+
+        @Override
+        public void setLineWidth(double width) {
+            lineWidth = width;
+        }
+
+        @Override
+        public void fillRect(double x, double y, double w, double h) {
+            RenderQueue.this.fillRect(layer, size, fill, x, y, w, h);
+        }
+
+        @Override
+        public void strokeRect(double x, double y, double w, double h) {
+            RenderQueue.this.strokeRect(layer, size, stroke, lineWidth, x, y, w, h);
+        }
+
+        @Override
+        public void fillText(String text, double x, double y) {
+            RenderQueue.this.fillText(layer, size, text, fill, x, y);
+        }
+
+        @Override
+        public double getWidth() {
+            return width;
+        }
+
+        @Override
+        public double getHeight() {
+            return height;
+        }
+    }
+}
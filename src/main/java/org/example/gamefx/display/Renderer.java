@@ -0,0 +1,89 @@
+package org.example.gamefx.display;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+
+/**
+ * Drawing target used by every gameplay render path. Decouples rendering from the JavaFX
+ * canvas so frames can also be built headless (draw counting, software framebuffer).
+ */
+public interface Renderer {
+    /**
+     * Clears a rectangle to transparent
+     *
+     * @param x Rectangle X
+     * @param y Rectangle Y
+     * @param w Rectangle width
+     * @param h Rectangle height
+     */
+    void clearRect(double x, double y, double w, double h);
+
+    /**
+     * Draws a whole image at its natural size
+     *
+     * @param image Image to draw
+     * @param x Destination X
+     * @param y Destination Y
+     */
+    default void drawImage(Image image, double x, double y) {
+        drawImage(image, x, y, image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Draws a whole image scaled to the destination rectangle
+     *
+     * @param image Image to draw
+     * @param x Destination X
+     * @param y Destination Y
+     * @param w Destination width
+     * @param h Destination height
+     */
+    default void drawImage(Image image, double x, double y, double w, double h) {
+        drawImage(image, 0, 0, image.getWidth(), image.getHeight(), x, y, w, h);
+    }
+
+    /**
+     * Draws a region of an image scaled to the destination rectangle
+     *
+     * @param image Source image
+     * @param sx Source X
+     * @param sy Source Y
+     * @param sw Source width
+     * @param sh Source height
+     * @param dx Destination X
+     * @param dy Destination Y
+     * @param dw Destination width
+     * @param dh Destination height
+     */
+    void drawImage(Image image, double sx, double sy, double sw, double sh,
+                   double dx, double dy, double dw, double dh);
+
+    void setFill(Paint paint);
+
+    void setStroke(Paint paint);
+
+    void setLineWidth(double width);
+
+    /**
+     * Fills a rectangle with the current fill paint
+     */
+    void fillRect(double x, double y, double w, double h);
+
+    /**
+     * Outlines a rectangle with the current stroke paint and line width
+     */
+    void strokeRect(double x, double y, double w, double h);
+
+    /**
+     * Draws text with the current fill paint
+     *
+     * @param text Text to draw
+     * @param x Baseline X
+     * @param y Baseline Y
+     */
+    void fillText(String text, double x, double y);
+
+    double getWidth();
+
+    double getHeight();
+}
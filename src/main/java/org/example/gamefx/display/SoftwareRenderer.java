@@ -0,0 +1,252 @@
+package org.example.gamefx.display;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Offscreen renderer writing ARGB pixels into an int[] framebuffer.
+ * Images are blitted with nearest-neighbour scaling and source-over blending,
+ * rectangles are rasterized directly. Text has no glyph rasterizer and is only counted.
+ */
+public class SoftwareRenderer implements Renderer {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    // Decoded ARGB pixels per source image, dropped together with the image
+    private final Map<Image, int[]> imagePixels = new WeakHashMap<>();
+
+    private int fillArgb = 0xFF000000;
+    private int strokeArgb = 0xFF000000;
+    private double lineWidth = 1.0;
+
+    private long drawCalls = 0;
+    private long pixelsWritten = 0;
+
+    /**
+     * @param width Framebuffer width in pixels
+     * @param height Framebuffer height in pixels
+     */
+    public SoftwareRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+    }
+
+    @Override
+    public void clearRect(double x, double y, double w, double h) {
+        int x0 = clampX(x), x1 = clampX(x + w);
+        int y0 = clampY(y), y1 = clampY(y + h);
+        for (int row = y0; row < y1; row++) {
+            Arrays.fill(pixels, row * width + x0, row * width + x1, 0);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        drawCalls++;
+        int[] src = getPixels(image);
+        if (src == null || dw <= 0 || dh <= 0) return;
+
+        int srcStride = (int) image.getWidth();
+        int srcHeight = (int) image.getHeight();
+        int x0 = clampX(dx), x1 = clampX(dx + dw);
+        int y0 = clampY(dy), y1 = clampY(dy + dh);
+        double scaleX = sw / dw;
+        double scaleY = sh / dh;
+
+        for (int row = y0; row < y1; row++) {
+            int srcY = (int) (sy + (row - dy + 0.5) * scaleY);
+            if (srcY < 0 || srcY >= srcHeight) continue;
+            int srcRow = srcY * srcStride;
+            int dstRow = row * width;
+            for (int col = x0; col < x1; col++) {
+                int srcX = (int) (sx + (col - dx + 0.5) * scaleX);
+                if (srcX < 0 || srcX >= srcStride) continue;
+                blend(dstRow + col, src[srcRow + srcX]);
+            }
+        }
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        fillArgb = toArgb(paint);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        strokeArgb = toArgb(paint);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        this.lineWidth = width;
+    }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        drawCalls++;
+        fill(x, y, w, h, fillArgb);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double w, double h) {
+        drawCalls++;
+        // Stroke is centered on the rectangle edge like in JavaFX
+        double half = lineWidth / 2;
+        fill(x - half, y - half, w + lineWidth, lineWidth, strokeArgb);
+        fill(x - half, y + h - half, w + lineWidth, lineWidth, strokeArgb);
+        fill(x - half, y + half, lineWidth, h - lineWidth, strokeArgb);
+        fill(x + w - half, y + half, lineWidth, h - lineWidth, strokeArgb);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        drawCalls++;
+    }
+
+    @Override
+    public double getWidth() {
+        return width;
+    }
+
+    @Override
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Framebuffer in ARGB, row-major, width * height entries
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @param x Pixel X
+     * @param y Pixel Y
+     * @return ARGB value of the framebuffer pixel
+     */
+    public int getArgb(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    /**
+     * @return Number of draw calls since the last reset
+     */
+    public long getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return Number of framebuffer pixels written since the last reset
+     */
+    public long getPixelsWritten() {
+        return pixelsWritten;
+    }
+
+    /**
+     * Resets draw counters
+     */
+    public void resetCounters() {
+        drawCalls = 0;
+        pixelsWritten = 0;
+    }
+
+    /**
+     * Fills a rectangle with a solid color using source-over blending
+     */
+    private void fill(double x, double y, double w, double h, int argb) {
+        int x0 = clampX(x), x1 = clampX(x + w);
+        int y0 = clampY(y), y1 = clampY(y + h);
+        for (int row = y0; row < y1; row++) {
+            int dstRow = row * width;
+            for (int col = x0; col < x1; col++) {
+                blend(dstRow + col, argb);
+            }
+        }
+    }
+
+    /**
+     * Composites one non-premultiplied ARGB pixel over the framebuffer
+     *
+     * @param index Framebuffer index
+     * @param argb Source pixel
+     */
+    private void blend(int index, int argb) {
+        int srcA = argb >>> 24;
+        if (srcA == 0) return;
+        pixelsWritten++;
+        if (srcA == 255) {
+            pixels[index] = argb;
+            return;
+        }
+
+        int dst = pixels[index];
+        int dstA = dst >>> 24;
+        int outA = srcA + dstA * (255 - srcA) / 255;
+        if (outA == 0) {
+            pixels[index] = 0;
+            return;
+        }
+        int r = blendChannel(argb >> 16, dst >> 16, srcA, dstA, outA);
+        int g = blendChannel(argb >> 8, dst >> 8, srcA, dstA, outA);
+        int b = blendChannel(argb, dst, srcA, dstA, outA);
+        pixels[index] = (outA << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int blendChannel(int src, int dst, int srcA, int dstA, int outA) {
+        src &= 0xFF;
+        dst &= 0xFF;
+        return (src * srcA + dst * dstA * (255 - srcA) / 255) / outA;
+    }
+
+    /**
+     * @param image Source image
+     * @return Cached ARGB pixels of the image, or null if the image has no readable pixels
+     */
+    private int[] getPixels(Image image) {
+        int[] cached = imagePixels.get(image);
+        if (cached != null) return cached;
+
+        PixelReader reader = image.getPixelReader();
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        if (reader == null || w <= 0 || h <= 0) return null;
+
+        cached = new int[w * h];
+        reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), cached, 0, w);
+        imagePixels.put(image, cached);
+        return cached;
+    }
+
+    /**
+     * @param paint Paint to convert, only solid colors are supported
+     * @return ARGB value, opaque black for unsupported paints
+     */
+    private static int toArgb(Paint paint) {
+        if (!(paint instanceof Color)) return 0xFF000000;
+        Color color = (Color) paint;
+        int a = (int) Math.round(color.getOpacity() * 255);
+        int r = (int) Math.round(color.getRed() * 255);
+        int g = (int) Math.round(color.getGreen() * 255);
+        int b = (int) Math.round(color.getBlue() * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private int clampX(double x) {
+        return (int) Math.max(0, Math.min(width, Math.round(x)));
+    }
+
+    private int clampY(double y) {
+        return (int) Math.max(0, Math.min(height, Math.round(y)));
+    }
+}
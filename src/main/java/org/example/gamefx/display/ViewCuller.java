@@ -0,0 +1,125 @@
+package org.example.gamefx.display;
+
+import org.example.gamefx.Map;
+
+/**
+ * Camera-frustum culling stage for world rendering.
+ * Holds the visible world rectangle (camera viewport plus margin) for the current frame,
+ * the visible tile range, and per-frame counts of drawn versus culled items.
+ */
+public class ViewCuller {
+    public static final int DEFAULT_MARGIN = 64;
+
+    // World offset applied to tiles and sprites when drawing (x - cameraX - 24)
+    private static final int DRAW_OFFSET = 24;
+
+    private int margin;
+    private double left, top, right, bottom;
+    private int firstTileX, firstTileY, lastTileX, lastTileY;
+    private int drawn = 0;
+    private int culled = 0;
+
+    /**
+     * Creates culler with the default margin around the viewport
+     */
+    public ViewCuller() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * @param margin Extra pixels around the viewport still treated as visible
+     */
+    public ViewCuller(int margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Computes visible rectangle and tile range for a new frame and resets counters
+     *
+     * @param camera Active camera
+     * @param map Current map for tile range clamping
+     */
+    public void begin(Camera camera, Map map) {
+        left = camera.getX() - margin;
+        top = camera.getY() - margin;
+        right = camera.getX() + camera.getWidth() + margin;
+        bottom = camera.getY() + camera.getHeight() + margin;
+
+        int tileSize = map.getTILE_SIZE();
+        firstTileX = Math.max(0, (int) Math.floor((left + DRAW_OFFSET) / tileSize));
+        firstTileY = Math.max(0, (int) Math.floor((top + DRAW_OFFSET) / tileSize));
+        lastTileX = Math.min(map.getWidthTiles() - 1, (int) Math.floor((right + DRAW_OFFSET - 1) / tileSize));
+        lastTileY = Math.min(map.getHeightTiles() - 1, (int) Math.floor((bottom + DRAW_OFFSET - 1) / tileSize));
+
+        drawn = 0;
+        culled = 0;
+    }
+
+    /**
+     * Tests a world-space rectangle against the visible area and counts the result
+     *
+     * @param x World X of the drawn rectangle's left edge
+     * @param y World Y of the drawn rectangle's top edge
+     * @param width Rectangle width
+     * @param height Rectangle height
+     * @return True if the rectangle should be drawn
+     */
+    public boolean isVisible(double x, double y, double width, double height) {
+        boolean visible = x + width > left && x < right && y + height > top && y < bottom;
+        if (visible) {
+            drawn++;
+        } else {
+            culled++;
+        }
+        return visible;
+    }
+
+    /**
+     * Adds externally culled items (e.g. map chunks) to the frame counters
+     *
+     * @param drawnCount Number of items drawn
+     * @param culledCount Number of items skipped
+     */
+    public void count(int drawnCount, int culledCount) {
+        drawn += drawnCount;
+        culled += culledCount;
+    }
+
+    public int getFirstTileX() {
+        return firstTileX;
+    }
+
+    public int getFirstTileY() {
+        return firstTileY;
+    }
+
+    public int getLastTileX() {
+        return lastTileX;
+    }
+
+    public int getLastTileY() {
+        return lastTileY;
+    }
+
+    /**
+     * @return Items drawn in the current frame
+     */
+    public int getDrawn() {
+        return drawn;
+    }
+
+    /**
+     * @return Items skipped in the current frame
+     */
+    public int getCulled() {
+        return culled;
+    }
+
+    public void setMargin(int margin) {
+        this.margin = margin;
+    }
+
+    public int getMargin() {
+        return margin;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.gamefx.entities;
+
+import org.example.gamefx.Direction;
+import org.example.gamefx.utils.Sprite;
+import org.example.gamefx.utils.SpriteAtlas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Builds animation frame tables once per sprite set and shares them between all entities
+ * of the same type, so spawning an entity never resolves or decodes frames again
+ */
+public class AnimationLibrary {
+    private static final int WALK_FRAMES = 3;
+    private static final int ENEMY_ATTACK_FRAMES = 1;
+    private static final int PLAYER_ATTACK_FRAMES = 2;
+    private static final String PLAYER_KEY = "player";
+
+    private static AnimationLibrary instance = new AnimationLibrary();
+
+    private final HashMap<String, AnimationSet> sets = new HashMap<>();
+
+    private AnimationLibrary() {}
+
+    /**
+     * @return The global animation library
+     */
+    public static AnimationLibrary getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns shared enemy animations, building them on first request.
+     *
+     * <p>Attack animations use a simplified single-frame format where all directions
+     * share the same base attack sprite ({@code [basePath][imgName]_attack_1.png}).
+     *
+     * @param basePath Folder path containing the sprites, e.g. "/sprites/duckEnemy/"
+     * @param imgName Base name of the enemy's sprites, e.g. "duck"
+     * @return Animation set shared by all enemies with this sprite set
+     */
+    public synchronized AnimationSet getEnemyAnimations(String basePath, String imgName) {
+        String key = basePath + imgName;
+        AnimationSet set = sets.get(key);
+        if (set == null) {
+            set = new AnimationSet(
+                    load(enemyWalkPaths(basePath, imgName)),
+                    load(enemyAttackPaths(basePath, imgName)),
+                    SpriteAtlas.getInstance().getSprite(enemyDeathPath(basePath, imgName)));
+            sets.put(key, set);
+        }
+        return set;
+    }
+
+    /**
+     * Returns shared player animations, building them on first request
+     *
+     * @return Player animation set
+     */
+    public synchronized AnimationSet getPlayerAnimations() {
+        AnimationSet set = sets.get(PLAYER_KEY);
+        if (set == null) {
+            set = new AnimationSet(load(playerWalkPaths()), load(playerAttackPaths()), null);
+            sets.put(PLAYER_KEY, set);
+        }
+        return set;
+    }
+
+    /**
+     * Lists every frame resource of an enemy sprite set (used by the asset preloader)
+     *
+     * @param basePath Folder path containing the sprites
+     * @param imgName Base name of the enemy's sprites
+     * @return Resource paths of walk, attack and death frames
+     */
+    public static List<String> getEnemyFramePaths(String basePath, String imgName) {
+        List<String> paths = new ArrayList<>();
+        addAll(paths, enemyWalkPaths(basePath, imgName));
+        addAll(paths, enemyAttackPaths(basePath, imgName));
+        paths.add(enemyDeathPath(basePath, imgName));
+        return paths;
+    }
+
+    /**
+     * Lists every player frame resource (used by the asset preloader)
+     *
+     * @return Resource paths of walk and attack frames
+     */
+    public static List<String> getPlayerFramePaths() {
+        List<String> paths = new ArrayList<>();
+        addAll(paths, playerWalkPaths());
+        addAll(paths, playerAttackPaths());
+        return paths;
+    }
+
+    /**
+     * Walking frame paths for every direction, NONE reuses the first down frame
+     *
+     * @param prefix Path prefix of the frames (folder + base name)
+     * @return array [direction][frame] of resource paths
+     */
+    private static String[][] walkPaths(String prefix) {
+        String[][] paths = new String[Direction.values().length][WALK_FRAMES];
+        for (int i = 0; i < WALK_FRAMES; i++) {
+            paths[Direction.LEFT.ordinal()][i] = prefix + "_left_" + (i + 1) + ".png";
+            paths[Direction.RIGHT.ordinal()][i] = prefix + "_right_" + (i + 1) + ".png";
+            paths[Direction.UP.ordinal()][i] = prefix + "_up_" + (i + 1) + ".png";
+            paths[Direction.DOWN.ordinal()][i] = prefix + "_down_" + (i + 1) + ".png";
+            paths[Direction.NONE.ordinal()][i] = prefix + "_down_1.png";
+        }
+        return paths;
+    }
+
+    private static String[][] enemyWalkPaths(String basePath, String imgName) {
+        return walkPaths(basePath + imgName);
+    }
+
+    /**
+     * @return array [direction][frame] where every direction shares the attack sprite
+     */
+    private static String[][] enemyAttackPaths(String basePath, String imgName) {
+        String[][] paths = new String[Direction.values().length][ENEMY_ATTACK_FRAMES];
+        for (int i = 0; i < ENEMY_ATTACK_FRAMES; i++) {
+            for (Direction direction : Direction.values()) {
+                paths[direction.ordinal()][i] = basePath + imgName + "_attack_" + (i + 1) + ".png";
+            }
+        }
+        return paths;
+    }
+
+    private static String enemyDeathPath(String basePath, String imgName) {
+        return basePath + imgName + "_die.png";
+    }
+
+    private static String[][] playerWalkPaths() {
+        return walkPaths("/character");
+    }
+
+    /**
+     * @return array [direction][frame] of player attack frame paths
+     */
+    private static String[][] playerAttackPaths() {
+        String[][] paths = new String[Direction.values().length][PLAYER_ATTACK_FRAMES];
+        for (int i = 0; i < PLAYER_ATTACK_FRAMES; i++) {
+            paths[Direction.LEFT.ordinal()][i] = "/character_attack_left_" + (i + 1) + ".png";
+            paths[Direction.RIGHT.ordinal()][i] = "/character_attack_right_" + (i + 1) + ".png";
+            paths[Direction.UP.ordinal()][i] = "/character_attack_up_" + (i + 1) + ".png";
+            paths[Direction.DOWN.ordinal()][i] = "/character_attack_down_" + (i + 1) + ".png";
+            paths[Direction.NONE.ordinal()][i] = "/character_attack_down_1.png";
+        }
+        return paths;
+    }
+
+    private static void addAll(List<String> target, String[][] paths) {
+        for (String[] row : paths) {
+            for (String path : row) {
+                if (!target.contains(path)) target.add(path);
+            }
+        }
+    }
+
+    /**
+     * Resolves a table of frame paths to sprites
+     *
+     * @param paths array [direction][frame] of resource paths
+     * @return array [direction][frame] of sprites
+     */
+    private Sprite[][] load(String[][] paths) {
+        Sprite[][] frames = new Sprite[paths.length][];
+        for (int d = 0; d < paths.length; d++) {
+            frames[d] = new Sprite[paths[d].length];
+            for (int i = 0; i < paths[d].length; i++) {
+                frames[d][i] = SpriteAtlas.getInstance().getSprite(paths[d][i]);
+            }
+        }
+        return frames;
+    }
+}
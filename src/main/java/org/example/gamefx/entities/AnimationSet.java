@@ -0,0 +1,55 @@
+package org.example.gamefx.entities;
+
+import org.example.gamefx.Direction;
+import org.example.gamefx.utils.Sprite;
+
+/**
+ * Immutable walk/attack/death frame tables of one entity type.
+ * A single instance is shared by every entity of that type (see {@link AnimationLibrary}).
+ */
+public final class AnimationSet {
+    private final Sprite[][] walkFrames;   // [direction][frame]
+    private final Sprite[][] attackFrames; // [direction][frame]
+    private final Sprite deathFrame;
+
+    /**
+     * @param walkFrames Walk frames indexed by direction ordinal and frame
+     * @param attackFrames Attack frames indexed by direction ordinal and frame
+     * @param deathFrame Death sprite, may be null for entities without one
+     */
+    AnimationSet(Sprite[][] walkFrames, Sprite[][] attackFrames, Sprite deathFrame) {
+        this.walkFrames = walkFrames;
+        this.attackFrames = attackFrames;
+        this.deathFrame = deathFrame;
+    }
+
+    /**
+     * @param direction Facing direction
+     * @param frame Frame index
+     * @return Walk frame for the direction
+     */
+    public Sprite getWalkFrame(Direction direction, int frame) {
+        return walkFrames[direction.ordinal()][frame];
+    }
+
+    /**
+     * @param direction Facing direction
+     * @param frame Frame index
+     * @return Attack frame for the direction
+     */
+    public Sprite getAttackFrame(Direction direction, int frame) {
+        return attackFrames[direction.ordinal()][frame];
+    }
+
+    public Sprite getDeathFrame() {
+        return deathFrame;
+    }
+
+    public int getWalkFrameCount() {
+        return walkFrames[0].length;
+    }
+
+    public int getAttackFrameCount() {
+        return attackFrames[0].length;
+    }
+}
@@ -55,15 +55,9 @@ public class DuckEnemy extends Enemy {
             dy /= length;
         }
 
-        double newX = x + dx * DUCK_SPEED;
-        double newY = y + dy * DUCK_SPEED;
-
-        if (collision.canMove(this, newX , newY)) {
-            x = newX;
-            y = newY;
-        }
-        checkAndAttack(player, System.currentTimeMillis());
-        updateAnimation(System.currentTimeMillis());
+        moveBy(dx * DUCK_SPEED * movementScale, dy * DUCK_SPEED * movementScale);
+        checkAndAttack(player, now);
+        updateAnimation(now);
     }
 
     /**
@@ -3,9 +3,14 @@ package org.example.gamefx.entities;
 import javafx.scene.image.Image;
 import org.example.gamefx.Collision;
 import org.example.gamefx.Direction;
+import org.example.gamefx.GameClock;
 import org.example.gamefx.World;
-import javafx.scene.canvas.GraphicsContext;
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.ViewCuller;
 import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Profiler;
+import org.example.gamefx.utils.Sprite;
 import org.example.gamefx.utils.Utils;
 
 /**
@@ -16,12 +21,11 @@ public abstract class Enemy extends Entity {
     protected Direction currentDirection = Direction.DOWN;
     protected boolean isMoving = false;
 
-    protected final Image[][] walkAnimations; // [direction][frame]
+    protected final AnimationSet animations; // shared by all enemies of this type
     protected int currentFrame = 0;
     protected long lastFrameTime = 0;
     protected static final long FRAME_DURATION = 200;
 
-    protected Image[][] attackAnimations;
     protected boolean isAttacking = false;
     protected long attackStartTime;
     protected static final long ATTACK_DURATION = 500;
@@ -30,7 +34,7 @@ public abstract class Enemy extends Entity {
     protected int attackDamage = 10;
     protected static final double ATTACK_RANGE = 50;
 
-    private long hpDisplayTime = 0;
+    private long hpDisplayTime = -HP_DISPLAY_DURATION;
     private static final long HP_DISPLAY_DURATION = 2000; // 2 sekundy
 
     protected int curHp;
@@ -48,9 +52,12 @@ public abstract class Enemy extends Entity {
     protected boolean isDead = false;
     protected long deathStartTime;
     protected static final long DEATH_DURATION = 1000; // 1 sekunda
-    protected Image deathImage;
     protected boolean shouldRemove = false;
 
+    // Game time and speed factor of the current tick, set before every update
+    protected long now = 0;
+    protected double movementScale = 1.0;
+
     /**
      * Creates a new enemy entity
      *
@@ -64,54 +71,50 @@ public abstract class Enemy extends Entity {
      */
     public Enemy(int x, int y, int hp, String imgName, String basePath, Collision collision, World world) {
         super(x, y, hp, basePath + imgName + "_down_1.png", collision, world);
-        this.walkAnimations = loadWalkAnimations(imgName, basePath);
-        this.attackAnimations = loadAttackAnimations(imgName, basePath);
-        this.img = walkAnimations[Direction.DOWN.ordinal()][0];
+        this.animations = AnimationLibrary.getInstance().getEnemyAnimations(basePath, imgName);
+        this.img = animations.getWalkFrame(Direction.DOWN, 0);
 
         this.curHp = hp;
-        this.deathImage = loadImage(basePath + imgName + "_die.png");
     }
 
     /**
-     * Main update method to be implemented by concrete enemies
+     * Advances the enemy by one tick
      *
      * @param player Reference to the player entity
+     * @param clock Simulation clock, already advanced for this tick
      */
-    public abstract void update (Player player);
-
+    public void update(Player player, GameClock clock) {
+        this.now = clock.now();
+        this.movementScale = clock.getMovementScale();
+        Profiler.getInstance().begin("Enemy.update");
+        try {
+            update(player);
+        } finally {
+            Profiler.getInstance().end();
+        }
+    }
 
     /**
-     * Loads attack animation frames for all directions from resource files.
+     * Main update method to be implemented by concrete enemies.
+     * The tick's game time is available in {@link #now}.
      *
-     * <p>Attack animations use a simplified single-frame format where all directions
-     * share the same base attack sprite ({@code [basePath][imgName]_attack_1.png}).
-     *
-     * @param imgName    Base name of the enemy's sprites
-     * @param basePath   Directory path containing the attack animation sprites
-     * @return 2D array of images structured as [direction][frame] where:
-     *         - Direction indexes: LEFT=0, RIGHT=1, UP=2, DOWN=3
-     *         - Single frame (index 0) for all directions
+     * @param player Reference to the player entity
      */
-    protected Image[][] loadAttackAnimations(String imgName, String basePath) {
-//        Image[][] animations = new Image[Direction.values().length][3];
-        Image[][] animations = new Image[Direction.values().length][1];
-        for (int i = 0; i < 1; i++) {
-
-            animations[Direction.LEFT.ordinal()][i] = loadImage(basePath + imgName + "_attack_" + (i+1) + ".png");
-            animations[Direction.RIGHT.ordinal()][i] = loadImage(basePath + imgName + "_attack_" + (i+1) + ".png");
-            animations[Direction.UP.ordinal()][i] = loadImage(basePath + imgName + "_attack_" + (i+1) + ".png");
-            animations[Direction.DOWN.ordinal()][i] = loadImage(basePath + imgName + "_attack_" + (i+1) + ".png");
-        }
-        return animations;
-    }
+    public abstract void update (Player player);
+
 
     /**
      * Checks attack conditions and damages player if in range
      *
      * @param player Target player entity
-     * @param now Current system time in milliseconds
+     * @param now Current game time in milliseconds
      */
     protected void checkAndAttack(Player player, long now) {
+        // Unpaired in this tick's broadphase means too far apart to attack
+        World world = getWorld();
+        if (world != null && world.getBroadphase().covers(this, x, y) && !world.getBroadphase().isPaired(this, player)) {
+            return;
+        }
         double distance = Math.hypot(player.getX() - x, player.getY() - y);
 
         if (distance < ATTACK_RANGE) {
@@ -127,7 +130,7 @@ public abstract class Enemy extends Entity {
     /**
      * Updates animation frames based on movement and attack state
      *
-     * @param now Current system time in milliseconds
+     * @param now Current game time in milliseconds
      */
     protected void updateAnimation(long now) {
         if (isAttacking) {
@@ -140,21 +143,21 @@ public abstract class Enemy extends Entity {
                 //pro 1 snimek
                 int frame = 0; // Only the first image
                 currentFrame = frame;
-                img = attackAnimations[currentDirection.ordinal()][currentFrame];
+                img = animations.getAttackFrame(currentDirection, currentFrame);
                 return;
             }
         }
 
         if (!isMoving) {
             currentFrame = 0;
-            img = walkAnimations[currentDirection.ordinal()][0];
+            img = animations.getWalkFrame(currentDirection, 0);
             return;
         }
 
         if (now - lastFrameTime > FRAME_DURATION) {
             currentFrame = (currentFrame + 1) % 3;
             lastFrameTime = now;
-            img = walkAnimations[currentDirection.ordinal()][currentFrame];
+            img = animations.getWalkFrame(currentDirection, currentFrame);
         }
     }
 
@@ -162,41 +165,61 @@ public abstract class Enemy extends Entity {
      * Applies damage to the enemy and handles death state
      *
      * @param damage Amount of damage to apply
+     * @param now Game time of the current tick in milliseconds
      */
-    public void takeDamage(int damage) {
+    public void takeDamage(int damage, long now) {
         if (isDead) return;
 
         curHp = Math.max(0, curHp - damage);
-        hpDisplayTime = System.currentTimeMillis();
+        hpDisplayTime = now;
 
         if (curHp <= 0) {
             isDead = true;
-            deathStartTime = System.currentTimeMillis();
+            deathStartTime = now;
             Logger.getInstance().info(getEnemyName() + " died");
         }
     }
 
     /**
-     * Renders health bar above enemy when recently damaged
+     * Queues health bar above enemy when recently damaged
      *
-     * @param gc Graphics context for drawing
+     * @param queue Render command buffer
      * @param cameraX Camera X offset
      * @param cameraY Camera Y offset
+     * @param alpha Interpolation factor between the previous and current tick
      */
-    public void renderHP(GraphicsContext gc, int cameraX, int cameraY) {
-        if (System.currentTimeMillis() - hpDisplayTime < HP_DISPLAY_DURATION) {
+    public void renderHP(RenderQueue queue, int cameraX, int cameraY, double alpha) {
+        if (isHpVisible()) {
             Image heartImage = getCurrentHeartImage();
             if (heartImage == null) return;
 
             double heartWidth = heartImage.getWidth() * 0.5; //Size reduction
             double heartHeight = heartImage.getHeight() * 0.5;
-            double xPos = x - cameraX - heartWidth/2;
-            double yPos = y - cameraY - 50; // Position over the enemy
+            double xPos = getRenderX(alpha) - cameraX - heartWidth/2;
+            double yPos = getRenderY(alpha) - cameraY - 50; // Position over the enemy
 
-            gc.drawImage(heartImage, xPos, yPos, heartWidth, heartHeight);
+            queue.drawImage(RenderQueue.LAYER_OVERLAY, yPos, heartImage, xPos, yPos, heartWidth, heartHeight);
         }
     }
 
+    /**
+     * @return True while the health bar is shown after recent damage
+     */
+    public boolean isHpVisible() {
+        return now - hpDisplayTime < HP_DISPLAY_DURATION;
+    }
+
+    /**
+     * Adds everything that affects how this enemy is drawn, used for layer invalidation
+     *
+     * @param key Key of the layer being drawn
+     * @param alpha Interpolation factor between the previous and current tick
+     */
+    public void addRenderState(RenderKey key, double alpha) {
+        key.add(getRenderX(alpha)).add(getRenderY(alpha)).addRef(img);
+        key.add(isDead).add(isHpVisible() ? curHp + 1 : 0);
+    }
+
     /**
      * Determines which heart image to display based on current HP percentage
      *
@@ -215,70 +238,49 @@ public abstract class Enemy extends Entity {
     }
 
     /**
-     * @return Current animation frame image for the enemy's direction
-     */
-    public Image getImage() {
-        return walkAnimations[currentDirection.ordinal()][currentFrame];
-    }
-
-    /**
-     * Loads walking animation sprites from files
-     *
-     * @param imgName Base image name
-     * @param basePath Folder path containing sprites
-     * @return array [direction][frame] of animation images
+     * @return Current animation frame sprite for the enemy's direction
      */
-    private Image[][] loadWalkAnimations(String imgName, String basePath) {
-        Image[][] animations = new Image[Direction.values().length][3];
-
-        for (int i = 0; i < 3; i++) {
-            animations[Direction.LEFT.ordinal()][i] = loadImage(basePath + imgName + "_left_" + (i + 1) + ".png");
-            animations[Direction.RIGHT.ordinal()][i] = loadImage(basePath + imgName + "_right_" + (i + 1) + ".png");
-            animations[Direction.UP.ordinal()][i] = loadImage(basePath + imgName + "_up_" + (i + 1) + ".png");
-            animations[Direction.DOWN.ordinal()][i] = loadImage(basePath + imgName + "_down_" + (i + 1) + ".png");
-            animations[Direction.NONE.ordinal()][i] = loadImage(basePath + imgName + "_down_1.png");
-        }
-        return animations;
-    }
-
-    /**
-     * Loads an image from the resource path
-     *
-     * @param path Full resource path to image
-     * @return Loaded Image object
-     */
-    private Image loadImage(String path) {
-        return new Image(getClass().getResourceAsStream(path));
-//        return new Image(String.valueOf(new File(path)));
+    public Sprite getImage() {
+        return animations.getWalkFrame(currentDirection, currentFrame);
     }
 
     /**
             * Handles death sequence - marks enemy for removal after death animation
      */
     protected void handleDeath() {
-        if (System.currentTimeMillis() - deathStartTime > DEATH_DURATION) {
+        if (now - deathStartTime > DEATH_DURATION) {
             shouldRemove = true;
         }
 }
 
 
     /**
-     * Renders the enemy at its current position with camera offset
+     * Queues the enemy at its current position with camera offset, depth sorted by its feet
      *
-     * @param gc Graphics context for drawing
+     * @param queue Render command buffer
      * @param tileSize Unused parameter (legacy code)
      * @param cameraX Horizontal camera offset
      * @param cameraY Vertical camera offset
+     * @param alpha Interpolation factor between the previous and current tick
      */
-    public void render(GraphicsContext gc, int tileSize, int cameraX, int cameraY) {
-//        gc.drawImage(img, x - cameraX -24, y - cameraY - 24, img.getWidth(), img.getHeight());
-        if (isDead) {
-            gc.drawImage(deathImage, x - cameraX -24, y - cameraY - 24,
-                    deathImage.getWidth(), deathImage.getHeight());
-        } else {
-            gc.drawImage(img, x - cameraX -24, y - cameraY - 24,
-                    img.getWidth(), img.getHeight());
-        }
+    public void render(RenderQueue queue, int tileSize, int cameraX, int cameraY, double alpha) {
+        Sprite sprite = isDead ? animations.getDeathFrame() : img;
+        double drawY = getRenderY(alpha) - cameraY - 24;
+        queue.drawSprite(RenderQueue.LAYER_WORLD, drawY + sprite.getHeight(), sprite, getRenderX(alpha) - cameraX - 24, drawY);
+    }
+
+    /**
+     * Checks the enemy sprite and the health bar above it against the visible area
+     *
+     * @param culler Culling stage for the current frame
+     * @return True if the enemy should be rendered
+     */
+    public boolean isVisible(ViewCuller culler) {
+        Sprite sprite = isDead ? animations.getDeathFrame() : img;
+        double left = Math.min(x - 24, x - heartImages[4].getWidth() / 4);
+        double top = y - 50;
+        double right = Math.max(x - 24 + sprite.getWidth(), x + heartImages[4].getWidth() / 4);
+        return culler.isVisible(left, top, right - left, y - 24 + sprite.getHeight() - top);
     }
 
     /**
@@ -1,21 +1,25 @@
 package org.example.gamefx.entities;
 
-import javafx.scene.image.Image;
 import org.example.gamefx.Collision;
 import org.example.gamefx.World;
-import org.example.gamefx.utils.Utils;
+import org.example.gamefx.utils.Sprite;
+import org.example.gamefx.utils.SpriteAtlas;
 
 /**
  * Base class for all movable game entities with position and collision
  */
 public abstract class Entity {
-    public Image img;
+    public Sprite img;
     private World world;
     protected double x, y;
+    // Position at the start of the current tick, used for render interpolation
+    protected double prevX, prevY;
     protected int hp;
     protected double width;
     protected double height;
     public Collision collision;
+    // Position in the world's broadphase order, -1 while not tracked
+    private int broadphaseSlot = -1;
 
     /**
      * Creates a new game entity
@@ -30,8 +34,10 @@ public abstract class Entity {
     public Entity(int x, int y, int hp, String imgName, Collision collision, World world) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.hp = hp;
-        this.img = Utils.loadImg(imgName);
+        this.img = SpriteAtlas.getInstance().getSprite(imgName);
         this.collision = collision;
         this.world = world;
     }
@@ -44,7 +50,70 @@ public abstract class Entity {
         return y;
     }
 
-    public Image getImg() {
+    /**
+     * Moves the entity and keeps the world's spatial grid and broadphase in sync
+     *
+     * @param x New X position in pixels
+     * @param y New Y position in pixels
+     */
+    protected void moveTo(double x, double y) {
+        this.x = x;
+        this.y = y;
+        if (world != null) {
+            world.getEntityGrid().update(this);
+            world.getBroadphase().checkMove(this);
+        }
+    }
+
+    /**
+     * Moves by the given distance, resolving each axis separately against collisions.
+     * An axis stops at the first contact while the other one continues, so entities
+     * slide along walls and other entities instead of sticking to them.
+     *
+     * @param dx Horizontal distance in pixels
+     * @param dy Vertical distance in pixels
+     * @return True if the entity moved at all
+     */
+    protected boolean moveBy(double dx, double dy) {
+        double startX = x;
+        double startY = y;
+        moveTo(collision.sweepX(this, x, y, dx), y);
+        moveTo(x, collision.sweepY(this, x, y, dy));
+        return x != startX || y != startY;
+    }
+
+    /**
+     * Remembers the current position as the start of the next tick. Called before every update.
+     */
+    public void storePreviousPosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    /**
+     * @param alpha Fraction of the current tick elapsed since the last update, 0.0 to 1.0
+     * @return X position blended between the previous and current tick
+     */
+    public double getRenderX(double alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    /**
+     * @param alpha Fraction of the current tick elapsed since the last update, 0.0 to 1.0
+     * @return Y position blended between the previous and current tick
+     */
+    public double getRenderY(double alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    /**
+     * @return World the entity lives in, may be null
+     */
+    protected World getWorld() {
+        return world;
+    }
+
+    public Sprite getImg() {
         return img;
     }
 
@@ -55,4 +124,26 @@ public abstract class Entity {
     public double getHeight() {
         return img.getHeight();
     }
+
+    /**
+     * @return Width of the collision box anchored at (x, y)
+     */
+    public double getHitboxWidth() {
+        return img.getWidth();
+    }
+
+    /**
+     * @return Height of the collision box anchored at (x, y)
+     */
+    public double getHitboxHeight() {
+        return img.getHeight();
+    }
+
+    public int getBroadphaseSlot() {
+        return broadphaseSlot;
+    }
+
+    public void setBroadphaseSlot(int broadphaseSlot) {
+        this.broadphaseSlot = broadphaseSlot;
+    }
 }
@@ -1,17 +1,19 @@
 package org.example.gamefx.entities;
 
-import javafx.geometry.Rectangle2D;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
+import org.example.gamefx.Broadphase;
 import org.example.gamefx.Collision;
 import org.example.gamefx.Direction;
+import org.example.gamefx.GameClock;
+import org.example.gamefx.Hitbox;
 import org.example.gamefx.Input;
 import org.example.gamefx.World;
+import org.example.gamefx.display.Renderer;
 import org.example.gamefx.items.*;
 import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Sprite;
 import org.example.gamefx.utils.Utils;
-import java.io.File;
 
 /**
  * Represents the player character with movement, combat, inventory, and health .
@@ -24,15 +26,22 @@ private boolean interacting = false;
     private Inventory inventory;
 
     // Character properties
-    private Image characterImage;
+    private Sprite characterImage;
     private final double CHARACTER_SPEED = 3.0;
+    private static final double HITBOX_SIZE = 48;
+    // Reused by every attack
+    private final Hitbox attackArea = new Hitbox();
+    private final Hitbox enemyBox = new Hitbox();
     private double characterWidth;
     private double characterHeight;
     private Direction currentDirection = Direction.NONE;
     private boolean isMoving = false;
+    // Game time and speed factor of the current tick
+    private long now = 0;
+    private double movementScale = 1.0;
 
     // Animation frames
-    private final Image[][] walkAnimations; // [direction][frame]
+    private final AnimationSet animations; // shared walk and attack frames
     private int currentFrame = 0;
     private long lastFrameTime = 0;
     private static final long FRAME_DURATION = 200; // 200ms
@@ -40,14 +49,20 @@ private boolean interacting = false;
     // Input handling
     private Input input;
     // Attack animations
-    private final Image[][] attackAnimations;
     private boolean isAttacking = false;
     private long attackStartTime;
     private static final long ATTACK_DURATION = 500; // 0.5 sekundy
     private static final long ATTACK_FRAME_DURATION = ATTACK_DURATION / 2;
 
     private World world;
-    private Image[] heartImages = new Image[5];
+    // Shared by every player instance, acquired once and kept for the lifetime of the game
+    private static final Image[] heartImages = new Image[5];
+
+    static {
+        for (int i = 0; i < heartImages.length; i++) {
+            heartImages[i] = Utils.loadImg("/hearts/heart_" + i + ".png");
+        }
+    }
 
     private boolean cKeyWasPressed = false;
     private boolean vKeyWasPressed = false;
@@ -67,18 +82,13 @@ private boolean interacting = false;
         super(x, y, hp, imgName, collision, world);
         this.inventory = new Inventory(4, world);
         this.input = input;
-        this.walkAnimations = loadWalkAnimations();
-        this.characterImage = walkAnimations[Direction.DOWN.ordinal()][0];
+        this.animations = AnimationLibrary.getInstance().getPlayerAnimations();
+        this.characterImage = animations.getWalkFrame(Direction.DOWN, 0);
         this.characterWidth = characterImage.getWidth();
         this.characterHeight = characterImage.getHeight();
 
-        this.attackAnimations = loadAttackAnimations();
         this.hp = hp;
         this.world = world;
-        // Loading images of hearts
-        for(int i = 0; i < 5; i++) {
-            heartImages[i] = Utils.loadImg("/hearts/heart_"+i+".png");
-        }
         addItemToInventory(new Sword());
     }
 
@@ -134,16 +144,16 @@ private boolean interacting = false;
     /**
      * Renders player's health indicator using heart images
      *
-     * @param gc Graphics context for drawing
+     * @param renderer Render target
      */
-    public void renderHearts(GraphicsContext gc) {
+    public void renderHearts(Renderer renderer) {
         Image heartImage = getCurrentHeartImage();
         double heartWidth = heartImage.getWidth();
         double heartHeight = heartImage.getHeight();
         double startX = (world.getWidth() / 2 -  2 * heartWidth) / 2;
         double startY = 5;
 
-        gc.drawImage(heartImage, startX, startY, heartWidth, heartHeight);
+        renderer.drawImage(heartImage, startX, startY, heartWidth, heartHeight);
     }
 
     /**
@@ -167,12 +177,12 @@ private boolean interacting = false;
      * Returns the current animation frame for rendering the player.
      * Shows either attack or movement animation depending on the state.
      *
-     * @return Current animation frame as an Image.
+     * @return Current animation frame as a Sprite.
      */
-    public Image getImage() {
+    public Sprite getImage() {
         return isAttacking ?
-                attackAnimations[currentDirection.ordinal()][currentFrame] :
-                walkAnimations[currentDirection.ordinal()][currentFrame];
+                animations.getAttackFrame(currentDirection, currentFrame) :
+                animations.getWalkFrame(currentDirection, currentFrame);
     }
 
     public double getSpriteX() {
@@ -192,56 +202,28 @@ private boolean interacting = false;
     }
 
     /**
-     * Loads walking animation frames for each direction (UP, DOWN, LEFT, RIGHT, NONE).
-     *
-     * @return a 2D array of walking animation images indexed by direction and frame.
-     */
-    private Image[][] loadWalkAnimations() {
-        Image[][] animations = new Image[Direction.values().length][3];
-
-        for (int i = 0; i < 3; i++) {
-            animations[Direction.LEFT.ordinal()][i] = loadImage("character_left_" + (i+1) + ".png");
-            animations[Direction.RIGHT.ordinal()][i] = loadImage("character_right_" + (i+1) + ".png");
-            animations[Direction.UP.ordinal()][i] = loadImage("character_up_" + (i+1) + ".png");
-            animations[Direction.DOWN.ordinal()][i] = loadImage("character_down_" + (i+1) + ".png");
-            animations[Direction.NONE.ordinal()][i] = loadImage("character_down_1.png");
-        }
-        return animations;
-    }
-
-    /**
-     * Loads attack animation frames for each direction (UP, DOWN, LEFT, RIGHT, NONE).
-     *
-     * @return a 2D array of attack animation images indexed by direction and frame.
+     * Resets player position to default location
      */
-    private Image[][] loadAttackAnimations() {
-        Image[][] animations = new Image[Direction.values().length][2];
-        for (int i = 0; i < 2; i++) {
-            animations[Direction.LEFT.ordinal()][i] = loadImage("character_attack_left_" + (i+1) + ".png");
-            animations[Direction.RIGHT.ordinal()][i] = loadImage("character_attack_right_" + (i+1) + ".png");
-            animations[Direction.UP.ordinal()][i] = loadImage("character_attack_up_" + (i+1) + ".png");
-            animations[Direction.DOWN.ordinal()][i] = loadImage("character_attack_down_" + (i+1) + ".png");
-            animations[Direction.NONE.ordinal()][i] = loadImage("character_attack_down_1.png");
-        }
-        return animations;
+    public void resetPosition() {
+        moveTo((int) (400 - characterWidth/2), (int) (300 - characterHeight/2));
+        storePreviousPosition(); // teleport, don't interpolate
     }
 
-
-    private Image loadImage(String path) {
-//        return new Image(getClass().getResourceAsStream(path));
-        return new Image(String.valueOf(new File(path)));
+    public double getWidth() {
+        return characterWidth;
     }
 
     /**
-     * Resets player position to default location
+     * @return Width of the fixed 48x48 collision box
      */
-    public void resetPosition() {
-        x = (int) (400 - characterWidth/2);
-        y = (int) (300 - characterHeight/2);
+    @Override
+    public double getHitboxWidth() {
+        return HITBOX_SIZE;
     }
 
-    public double getWidth() {
-        return characterWidth;
+    @Override
+    public double getHitboxHeight() {
+        return HITBOX_SIZE;
     }
 
     public double getHeight() {
@@ -264,11 +246,13 @@ private boolean interacting = false;
      * Updates the player's state during the game loop.
      * Handles movement, animation, attack and inventory input.
      *
-     * @param now Current timestamp in milliseconds
+     * @param clock Simulation clock, already advanced for this tick
      * @param sceneWidth Width of game scene for boundary checks
      * @param sceneHeight Height of game scene for boundary checks
      */
-    public void update(long now, double sceneWidth, double sceneHeight) {
+    public void update(GameClock clock, double sceneWidth, double sceneHeight) {
+        this.now = clock.now();
+        this.movementScale = clock.getMovementScale();
         if (!isAttacking) {
             updatePosition(sceneWidth, sceneHeight);
         }
@@ -281,7 +265,7 @@ private boolean interacting = false;
      * Updates the player's position based on input keys.
      * <p>
      * Supports movement in four directions and normalizes speed when moving diagonally.
-     * Also checks for collisions before applying new position.
+     * Each axis stops at the first collision, so the player slides along walls.
      *
      * @param sceneWidth the width of the game scene, used for boundary conditions.
      * @param sceneHeight the height of the game scene, used for boundary conditions.
@@ -314,12 +298,7 @@ private boolean interacting = false;
             dy /= length;
         }
 
-        double newX = x + dx * CHARACTER_SPEED;
-        double newY = y + dy * CHARACTER_SPEED;
-        if (collision.canMove(this, newX , newY )) {
-            x = newX;
-            y = newY;
-        }
+        moveBy(dx * CHARACTER_SPEED * movementScale, dy * CHARACTER_SPEED * movementScale);
 
         // Update moving state
         isMoving = dx != 0 || dy != 0;
@@ -333,6 +312,13 @@ private boolean interacting = false;
         isAttacking = attacking;
     }
 
+    /**
+     * @return Game time of the current tick in milliseconds
+     */
+    public long getTime() {
+        return now;
+    }
+
     public void setAttackStartTime(long attackStartTime) {
         this.attackStartTime = attackStartTime;
     }
@@ -376,26 +362,37 @@ private boolean interacting = false;
         }
 
         // Attacking hitbox
-        Rectangle2D attackArea = new Rectangle2D(
+        attackArea.set(
                 attackX - attackWidth/2,
                 attackY - attackHeight/2,
                 attackWidth,
                 attackHeight
         );
 
-        for (Enemy enemy : world.getEnemies()) {
-            // Hitbox enemy
-            Rectangle2D enemyHitbox = new Rectangle2D(
-                    enemy.getX(),
-                    enemy.getY(),
-                    enemy.getWidth(),
-                    enemy.getHeight()
-            );
-
-            // Attack area collision control with the enemy
-            if (attackArea.intersects(enemyHitbox)) {
-                enemy.takeDamage(10);
+        // The attack reaches less than the broadphase margin, so only pair partners can be hit
+        Broadphase broadphase = world.getBroadphase();
+        if (broadphase.covers(this, x, y)) {
+            Entity[] partners = broadphase.getPartners();
+            int end = broadphase.getPartnerEnd(this);
+            for (int i = broadphase.getPartnerStart(this); i < end; i++) {
+                if (partners[i] instanceof Enemy) {
+                    hitIfInside((Enemy) partners[i]);
+                }
             }
+            return;
+        }
+        for (Enemy enemy : world.getEnemies()) {
+            hitIfInside(enemy);
+        }
+    }
+
+    /**
+     * Damages the enemy if its hitbox lies in the current attack area
+     */
+    private void hitIfInside(Enemy enemy) {
+        enemyBox.set(enemy.getX(), enemy.getY(), enemy.getWidth(), enemy.getHeight());
+        if (attackArea.intersects(enemyBox)) {
+            enemy.takeDamage(10, now);
         }
     }
 
@@ -404,7 +401,7 @@ private boolean interacting = false;
      * <p>
      * Handles both idle/movement animation and timed attack animations with frame switching.
      *
-     * @param now the current time in nanoseconds, used to determine frame timing.
+     * @param now the current game time in milliseconds, used to determine frame timing.
      */
     private void updateAnimation(long now) {
         if (isAttacking) {
@@ -473,8 +470,8 @@ private boolean interacting = false;
     }
 
     public void setPosition(int x, int y) {
-        this.x = x;
-        this.y = y;
+        moveTo(x, y);
+        storePreviousPosition(); // teleport, don't interpolate
 //        System.out.println("Koordinaty; X:" + x + "Y "+ y);
     }
 }
\ No newline at end of file
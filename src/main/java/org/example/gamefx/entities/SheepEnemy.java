@@ -34,8 +34,8 @@ public class SheepEnemy extends Enemy{
         } else {
             patrol();
         }
-        checkAndAttack(player, System.currentTimeMillis());
-        updateAnimation(System.currentTimeMillis());
+        checkAndAttack(player, now);
+        updateAnimation(now);
     }
 
     private void chasePlayer(Player player) {
@@ -51,7 +51,6 @@ public class SheepEnemy extends Enemy{
     }
 
     public void patrol() {
-        long now = System.currentTimeMillis();
         // Change direction after interval
         if (now - lastDirectionChange > DIRECTION_CHANGE_INTERVAL) {
             currentPatrolIndex = (currentPatrolIndex + 1) % patrolDirections.length;
@@ -70,15 +69,9 @@ public class SheepEnemy extends Enemy{
     }
 
     private void move(double dx, double dy) {
-        double newX = x + dx * SHEEP_SPEED;
-        double newY = y + dy * SHEEP_SPEED;
-
         isMoving = (dx != 0 || dy != 0);
 
-        if (collision.canMove(this, newX, newY)) {
-            x = newX;
-            y = newY;
-        }
+        moveBy(dx * SHEEP_SPEED * movementScale, dy * SHEEP_SPEED * movementScale);
 
         // Update direction for animations
         if (Math.abs(dx) > Math.abs(dy)) {
@@ -27,8 +27,6 @@ public class HealingPotion extends StackableItem{
         player.heal(healAmount);
         player.setHp(Math.min(100, player.getHp()));
 
-        if (getCount() <= 0) {
-            player.getInventory().getItems().remove(this);
-        }
+        player.getInventory().itemUsed(this);
     }
 }
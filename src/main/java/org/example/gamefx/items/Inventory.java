@@ -1,9 +1,10 @@
 package org.example.gamefx.items;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.gamefx.World;
+import org.example.gamefx.display.Renderer;
 import org.example.gamefx.entities.Player;
+import org.example.gamefx.utils.Profiler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +19,8 @@ public class Inventory {
     private int width;
     private int height;
     private World world;
+    // Incremented on every change visible in the HUD
+    private int version = 0;
 
     /**
      * Creates inventory with fixed capacity
@@ -41,6 +44,7 @@ public class Inventory {
             for (Item existingItem : items) {
                 if (existingItem.getClass() == newItem.getClass()) {
                     ((StackableItem) existingItem).addCount(((StackableItem) newItem).getCount());
+                    version++;
                     return true;
                 }
             }
@@ -48,6 +52,7 @@ public class Inventory {
 
         if (items.size() < capacity) {
             items.add(newItem);
+            version++;
             return true;
         }
         return false;
@@ -60,12 +65,34 @@ public class Inventory {
         item.use(player);
     }
 
+    /**
+     * Records that an item changed after being used: removes emptied stacks
+     * and invalidates the HUD
+     *
+     * @param item Item that was used
+     */
+    public void itemUsed(Item item) {
+        if (item instanceof StackableItem && ((StackableItem) item).getCount() <= 0) {
+            items.remove(item);
+        }
+        version++;
+    }
+
     /**
      * Renders inventory UI with slots and items
      *
-     * @param gc Graphics context for drawing
+     * @param renderer Render target
      */
-    public void render(GraphicsContext gc) {
+    public void render(Renderer renderer) {
+        Profiler.getInstance().begin("Inventory.render");
+        try {
+            renderSlots(renderer);
+        } finally {
+            Profiler.getInstance().end();
+        }
+    }
+
+    private void renderSlots(Renderer renderer) {
         int slotSize = 64;
         int startX =  (world.getWidth() /2 - capacity* slotSize/2);  // Pravý dolní roh
         int startY = world.getHeight() - 64;
@@ -73,33 +100,30 @@ public class Inventory {
         int padding = 2;
         for (int i = 0; i < capacity; i++) {
 
-            gc.setFill(Color.WHITE);
-            gc.rect(startX + i * (slotSize + padding), startY, slotSize, slotSize);
-
-            gc.setStroke(Color.BLACK);
-            gc.setLineWidth(3);
-            gc.strokeRect(startX + i * (slotSize + padding), startY, slotSize, slotSize);
+            renderer.setStroke(Color.BLACK);
+            renderer.setLineWidth(3);
+            renderer.strokeRect(startX + i * (slotSize + padding), startY, slotSize, slotSize);
 
             if (i == selectedSlot) {
-                gc.setStroke(Color.YELLOW);
-                gc.setLineWidth(3);
-                gc.strokeRect(startX + i * (slotSize + padding), startY, slotSize, slotSize);
+                renderer.setStroke(Color.YELLOW);
+                renderer.setLineWidth(3);
+                renderer.strokeRect(startX + i * (slotSize + padding), startY, slotSize, slotSize);
             }
         }
 
         for(int i = 0; i < items.size(); i++) {
             Item item = items.get(i);
-            gc.drawImage(
-                    item.getImg(),
+            item.getImg().draw(
+                    renderer,
                     startX + (i * slotSize + padding),
                     startY,
                     slotSize,
                     slotSize
             );
-            gc.setFill(Color.WHITE);
+            renderer.setFill(Color.WHITE);
 
             if (item instanceof StackableItem) {
-                gc.fillText(
+                renderer.fillText(
                         String.valueOf(((StackableItem) item).getCount()),
                         startX + i * (slotSize + padding) + slotSize - 15,
                         startY + slotSize - 5
@@ -108,6 +132,13 @@ public class Inventory {
         }
     }
 
+    /**
+     * @return Counter incremented by every mutation visible in the HUD (items, counts, selected slot)
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * @return Maximum number of item slots
      */
@@ -125,6 +156,7 @@ public class Inventory {
         } else {
             selectedSlot = 0;
         }
+        version++;
     }
 
     /**
@@ -168,6 +200,7 @@ public class Inventory {
                 } else {
                     items.remove(i);
                 }
+                version++;
                 return;
             }
         }
@@ -1,15 +1,15 @@
 package org.example.gamefx.items;
 
-import javafx.scene.image.Image;
 import org.example.gamefx.entities.Player;
-import org.example.gamefx.utils.Utils;
+import org.example.gamefx.utils.Sprite;
+import org.example.gamefx.utils.SpriteAtlas;
 
 /**
  * Base class for all inventory items
  */
 public abstract class Item {
     private ItemType type;
-    private Image img;
+    private Sprite img;
 
     /**
      * Creates new item of specified type
@@ -18,7 +18,7 @@ public abstract class Item {
      */
     public Item(ItemType type) {
         this.type = type;
-        this.img = Utils.loadImg("/items/" + type.getFilename());
+        this.img = SpriteAtlas.getInstance().getSprite("/items/" + type.getFilename());
     }
 
     /**
@@ -38,7 +38,7 @@ public abstract class Item {
     /**
      * @return Visual representation of item
      */
-    public Image getImg() {
+    public Sprite getImg() {
         return img;
     }
 }
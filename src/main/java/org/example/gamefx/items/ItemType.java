@@ -1,7 +1,7 @@
 package org.example.gamefx.items;
 
-import javafx.scene.image.Image;
-import org.example.gamefx.utils.Utils;
+import org.example.gamefx.utils.Sprite;
+import org.example.gamefx.utils.SpriteAtlas;
 
 /**
  * Defines types of items available in the game
@@ -12,7 +12,7 @@ public enum ItemType {
     HEALING_POTION("healingPotion_1.png");
 
     private String filename;
-    private Image image;
+    private Sprite image;
 
     /**
      * Constructs an item type with the associated image file.
@@ -21,7 +21,7 @@ public enum ItemType {
      */
     ItemType(String fileName) {
         this.filename = fileName;
-        this.image = Utils.loadImg("/items/" + filename);
+        this.image = SpriteAtlas.getInstance().getSprite("/items/" + filename);
     }
 
     /**
@@ -34,7 +34,7 @@ public enum ItemType {
     /**
      * @return Loaded image resource for this item
      */
-    public Image getImage() {
+    public Sprite getImage() {
         return image;
     }
 }
@@ -23,8 +23,6 @@ public class Key extends StackableItem {
     @Override
     public void use(Player player) {
         decrementCount();
-        if (getCount() <= 0) {
-            player.getInventory().getItems().remove(this);
-        }
+        player.getInventory().itemUsed(this);
     }
 }
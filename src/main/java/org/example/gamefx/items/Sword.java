@@ -21,7 +21,7 @@ public class Sword extends Item {
     public void use(Player player) {
         if (!player.isAttacking()) {
             player.setAttacking(true);
-            player.setAttackStartTime(System.currentTimeMillis());
+            player.setAttackStartTime(player.getTime());
             player.setCurrentFrame(0);
             player.performAttack();
         }
@@ -0,0 +1,27 @@
+package org.example.gamefx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One simulation tick (clock, player and world update)
+ */
+@Name("org.example.gamefx.GameTick")
+@Label("Game Tick")
+@Category({"Game", "Simulation"})
+@Description("Fixed simulation update of player, objects and enemies")
+@StackTrace(false)
+public class GameTickEvent extends Event {
+    @Label("Tick")
+    public long tick;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Objects")
+    public int objects;
+}
@@ -0,0 +1,38 @@
+package org.example.gamefx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * World construction or level transition, split into map initialization and Level.load
+ */
+@Name("org.example.gamefx.LevelLoad")
+@Label("Level Load")
+@Category({"Game", "Loading"})
+@Description("Map initialization and level population")
+public class LevelLoadEvent extends Event {
+    @Label("Level")
+    public String level;
+
+    @Label("Transition")
+    @Description("True for a door transition, false for a new world")
+    public boolean transition;
+
+    @Label("Map Init")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mapInit;
+
+    @Label("Level Load")
+    @Timespan(Timespan.NANOSECONDS)
+    public long levelLoad;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Objects")
+    public int objects;
+}
@@ -0,0 +1,28 @@
+package org.example.gamefx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Game state restored from the save file, including construction of the world
+ */
+@Name("org.example.gamefx.LoadGame")
+@Label("Load Game")
+@Category({"Game", "Persistence"})
+public class LoadGameEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Level")
+    public String level;
+
+    @Label("Success")
+    public boolean success;
+}
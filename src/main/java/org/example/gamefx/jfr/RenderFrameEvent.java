@@ -0,0 +1,38 @@
+package org.example.gamefx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One render pass of the gameplay layers
+ */
+@Name("org.example.gamefx.RenderFrame")
+@Label("Render Frame")
+@Category({"Game", "Rendering"})
+@Description("Repaint of the map, entity and HUD layers")
+@StackTrace(false)
+public class RenderFrameEvent extends Event {
+    @Label("Draw Commands")
+    @Description("Queued entity layer commands drawn this frame, 0 if the layer was not repainted")
+    public int drawCommands;
+
+    @Label("State Changes")
+    public int stateChanges;
+
+    @Label("Culled")
+    @Description("Tiles, objects and enemies skipped by view culling")
+    public int culled;
+
+    @Label("Map Repainted")
+    public boolean mapRepainted;
+
+    @Label("Entities Repainted")
+    public boolean entitiesRepainted;
+
+    @Label("HUD Repainted")
+    public boolean hudRepainted;
+}
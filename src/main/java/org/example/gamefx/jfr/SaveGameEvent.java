@@ -0,0 +1,28 @@
+package org.example.gamefx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Game state written to the save file
+ */
+@Name("org.example.gamefx.SaveGame")
+@Label("Save Game")
+@Category({"Game", "Persistence"})
+public class SaveGameEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -1,6 +1,7 @@
 package org.example.gamefx.objects;
 
 import javafx.scene.image.Image;
+import org.example.gamefx.GameClock;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.items.HealingPotion;
 import org.example.gamefx.items.Item;
@@ -46,12 +47,19 @@ public class Chest extends GameObject{
         this.chestOpenImg = Utils.loadImg("/objects/chestOpen.png");
     }
 
+    @Override
+    public void dispose() {
+        super.dispose();
+        Utils.releaseImg("/objects/chestOpen.png");
+    }
+
     /**
      * Checks player proximity and transfers contents to inventory when opened
      * @param player Player entity to check interaction with
+     * @param clock Simulation clock (unused, chests open instantly)
      */
     @Override
-    public void update(Player player) {
+    public void update(Player player, GameClock clock) {
         if (!isOpened && nearPlayer(player)) {
             isOpened = true;
             super.img = chestOpenImg;
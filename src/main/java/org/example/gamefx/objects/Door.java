@@ -1,9 +1,12 @@
 package org.example.gamefx.objects;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
+import org.example.gamefx.GameClock;
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.ViewCuller;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.items.Item;
 import org.example.gamefx.items.ItemType;
@@ -22,7 +25,7 @@ public class Door extends GameObject {
     private Image doorOpenImg;
     private boolean playerInRange;
     private static final int INTERACTION_DISTANCE = 64;
-    private long lastInteractionTime = 0;
+    private long lastInteractionTime = -INTERACTION_COOLDOWN;
     private static final long INTERACTION_COOLDOWN = 1000;
 
     /**
@@ -37,14 +40,21 @@ public class Door extends GameObject {
 //        System.out.println("doorOpenImg loaded: " + doorOpenImg);
     }
 
+    @Override
+    public void dispose() {
+        super.dispose();
+        Utils.releaseImg("/objects/doorOpen.png");
+    }
+
     /**
      * Handles player interaction attempts with cooldown
      *
      * @param player Player trying to interact
+     * @param clock Simulation clock for the interaction cooldown
      * @throws IOException If level transition fails
      */
     @Override
-    public void update(Player player) throws IOException {
+    public void update(Player player, GameClock clock) throws IOException {
         if (isOpened) return;
         // Distance control
         double distance = Math.sqrt(
@@ -54,7 +64,7 @@ public class Door extends GameObject {
         playerInRange = distance < INTERACTION_DISTANCE;
 
         if (playerInRange && Input.getInstance().isKeyPressed(KeyCode.V)) {
-            handleDoorInteraction(player);
+            handleDoorInteraction(player, clock.now());
         }
     }
 
@@ -63,12 +73,13 @@ public class Door extends GameObject {
      * and triggering level transition.
      *
      * @param player The player attempting to open the door
+     * @param now Current game time in milliseconds
      * @throws IOException If loading the next level fails
      */
-    public void handleDoorInteraction(Player player) throws IOException {
-        if (System.currentTimeMillis() - lastInteractionTime < INTERACTION_COOLDOWN) return;
+    public void handleDoorInteraction(Player player, long now) throws IOException {
+        if (now - lastInteractionTime < INTERACTION_COOLDOWN) return;
 
-        lastInteractionTime = System.currentTimeMillis();
+        lastInteractionTime = now;
 
         int slot = player.getInventory().getSelectedSlot();
         Item item = player.getInventory().getItem(slot);
@@ -97,28 +108,50 @@ public class Door extends GameObject {
     }
 
     /**
-     * Renders door state and interaction prompt
-     * @param gc Graphics context for drawing
+     * Queues door state and interaction prompt
+     * @param queue Render command buffer
      * @param tileSize Unused parameter (inherited from parent)
      * @param cameraX Camera horizontal offset
      * @param cameraY Camera vertical offset
      */
     @Override
-    public void render(GraphicsContext gc, int tileSize, int cameraX, int cameraY) {
+    public void render(RenderQueue queue, int tileSize, int cameraX, int cameraY) {
         int drawX = x - cameraX;
         int drawY = y - cameraY;
 
         // Center the image
         Image currentImage = isOpened ? doorOpenImg : img;
-        gc.drawImage(currentImage, drawX - img.getWidth()/2, drawY - img.getHeight()/2);
+        queue.drawImage(RenderQueue.LAYER_WORLD, drawY + img.getHeight()/2, currentImage,
+                drawX - img.getWidth()/2, drawY - img.getHeight()/2, currentImage.getWidth(), currentImage.getHeight());
 
         // View instructions when interacting
         if (playerInRange && !isOpened) {
-            gc.setFill(Color.WHITE);
-            gc.fillText("Press V with key to open", drawX - 60, drawY - 20);
+            queue.fillText(RenderQueue.LAYER_OVERLAY, drawY, "Press V with key to open", Color.WHITE, drawX - 60, drawY - 20);
         }
     }
 
+    /**
+     * Adds the interaction prompt visibility to the render state
+     */
+    @Override
+    public void addRenderState(RenderKey key) {
+        super.addRenderState(key);
+        key.add(playerInRange && !isOpened);
+    }
+
+    /**
+     * Door is drawn centered on its position, the interaction prompt extends to the left
+     *
+     * @param culler Culling stage for the current frame
+     * @return True if the door should be rendered
+     */
+    @Override
+    public boolean isVisible(ViewCuller culler) {
+        double left = Math.min(x - img.getWidth() / 2, x - 60);
+        double top = Math.min(y - img.getHeight() / 2, y - 35);
+        return culler.isVisible(left, top, x + img.getWidth() / 2 - left, y + img.getHeight() / 2 - top);
+    }
+
     /**
      * @return True if door has been successfully opened
      */
@@ -1,7 +1,10 @@
 package org.example.gamefx.objects;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import org.example.gamefx.GameClock;
+import org.example.gamefx.display.RenderKey;
+import org.example.gamefx.display.RenderQueue;
+import org.example.gamefx.display.ViewCuller;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.utils.Utils;
 
@@ -15,6 +18,7 @@ public abstract class GameObject {
     public int y;
     public Image img;
     public boolean isSolid;
+    private final String imgPath;
 
     /**
      * Creates new game object
@@ -27,28 +31,58 @@ public abstract class GameObject {
     public GameObject(int x, int y, String imgName, boolean isSolid) {
         this.x = x;
         this.y = y;
-        this.img = Utils.loadImg("/objects/" + imgName);
+        this.imgPath = "/objects/" + imgName;
+        this.img = Utils.loadImg(imgPath);
         this.isSolid = isSolid;
     }
 
+    /**
+     * Releases images acquired by the object. Called when the object leaves the world.
+     */
+    public void dispose() {
+        Utils.releaseImg(imgPath);
+    }
+
     /**
      * Updates object state based on player interaction
      *
      * @param player Player entity to check against
+     * @param clock Simulation clock for timing
      * @throws IOException If interaction causes I/O operations
      */
-    public abstract void update(Player player) throws IOException;
+    public abstract void update(Player player, GameClock clock) throws IOException;
 
     /**
-     * Renders the object to the screen.
+     * Queues the object for rendering, depth sorted by its bottom edge.
      *
-     * @param gc Graphics context
+     * @param queue Render command buffer
      * @param tileSize Size of a tile in pixels
      * @param cameraX X-offset of the camera
      * @param cameraY Y-offset of the camera
      */
-    public void render(GraphicsContext gc, int tileSize, int cameraX, int cameraY) {
-        gc.drawImage(img, x - cameraX - 24, y - cameraY - 24, img.getWidth(), img.getHeight());
+    public void render(RenderQueue queue, int tileSize, int cameraX, int cameraY) {
+        double drawY = y - cameraY - 24;
+        queue.drawImage(RenderQueue.LAYER_WORLD, drawY + img.getHeight(), img,
+                x - cameraX - 24, drawY, img.getWidth(), img.getHeight());
+    }
+
+    /**
+     * Checks the object's drawn bounds against the visible area
+     *
+     * @param culler Culling stage for the current frame
+     * @return True if the object should be rendered
+     */
+    public boolean isVisible(ViewCuller culler) {
+        return culler.isVisible(x - 24, y - 24, img.getWidth(), img.getHeight());
+    }
+
+    /**
+     * Adds everything that affects how this object is drawn, used for layer invalidation
+     *
+     * @param key Key of the layer being drawn
+     */
+    public void addRenderState(RenderKey key) {
+        key.add(x).add(y).addRef(img);
     }
 
     public int getX() {
@@ -1,5 +1,6 @@
 package org.example.gamefx.objects;
 
+import org.example.gamefx.GameClock;
 import org.example.gamefx.entities.Player;
 
 /**
@@ -19,5 +20,5 @@ public class Tree extends GameObject{
     }
 
     @Override
-    public void update(Player player) {}
+    public void update(Player player, GameClock clock) {}
 }
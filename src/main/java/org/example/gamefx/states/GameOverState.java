@@ -7,13 +7,12 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import org.example.gamefx.Game;
+import org.example.gamefx.Level;
 import org.example.gamefx.LevelManager;
 import org.example.gamefx.display.Display;
 import org.example.gamefx.entities.Player;
 import org.example.gamefx.utils.Utils;
 
-import java.io.IOException;
-
 /**
  * Handles game over screen UI and restart functionality
  */
@@ -36,7 +35,7 @@ public class GameOverState implements GameState {
         this.playingState = playingState;
         this.display = playingState.getDisplay();
 
-        this.backgroundImage = Utils.loadImg("/menu/game_over_background_k.png");
+        this.backgroundImage = Utils.borrowImg("/menu/game_over_background_k.png");
     }
 
     /**
@@ -55,12 +54,9 @@ public class GameOverState implements GameState {
 
         Button restartButton = createImageButton("/menu/restart_b.png", 170, 90);
         restartButton.setOnAction(e -> {
-            try {
-                PlayingState newGame = new PlayingState(stateManager, display);
-                stateManager.setCurrentGameState(newGame);
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
+            Level level = LevelManager.getCurLevel();
+            stateManager.setCurrentGameState(new LoadingState(stateManager, display, level,
+                    () -> new Game(display, (int) display.getWidth(), (int) display.getHeight(), level)));
         });
 
         Button backToMenu = createImageButton("/menu/back_to_menu.png", 170, 90);
@@ -72,7 +68,7 @@ public class GameOverState implements GameState {
     }
 
     private Button createImageButton(String imagePath, int width, int height) {
-        Image img = Utils.loadImg(imagePath);
+        Image img = Utils.borrowImg(imagePath);
         ImageView view = new ImageView(img);
         view.setFitWidth(width);
         view.setFitHeight(height);
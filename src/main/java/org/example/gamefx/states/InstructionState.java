@@ -29,7 +29,7 @@ public class InstructionState implements GameState {
         this.stateManager = stateManager;
         this.display = display;
         this.playingState = playingState;
-        this.backgroundImage = Utils.loadImg("/menu/instruction_cat.png");
+        this.backgroundImage = Utils.borrowImg("/menu/instruction_cat.png");
     }
 
     /**
@@ -54,7 +54,7 @@ public class InstructionState implements GameState {
     }
 
     private Button createImageButton(String imagePath, int width, int height) {
-        Image img = Utils.loadImg(imagePath);
+        Image img = Utils.borrowImg(imagePath);
         ImageView view = new ImageView(img);
         view.setFitWidth(width);
         view.setFitHeight(height);
@@ -28,7 +28,7 @@ public class LevelCompleteState implements GameState {
         this.stateManager = stateManager;
         this.display = playingState.getDisplay();
         this.playingState = playingState;
-        this.backgroundImage = Utils.loadImg("/menu/level_complete_background_k.png");
+        this.backgroundImage = Utils.borrowImg("/menu/level_complete_background_k.png");
     }
 
     /**
@@ -52,7 +52,7 @@ public class LevelCompleteState implements GameState {
     }
 
     private Button createImageButton(String imagePath, int width, int height) {
-        Image img = Utils.loadImg(imagePath);
+        Image img = Utils.borrowImg(imagePath);
         ImageView view = new ImageView(img);
         view.setFitWidth(width);
         view.setFitHeight(height);
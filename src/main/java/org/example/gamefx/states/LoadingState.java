@@ -0,0 +1,153 @@
+package org.example.gamefx.states;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.Image;
+import javafx.scene.layout.VBox;
+import org.example.gamefx.Game;
+import org.example.gamefx.Level;
+import org.example.gamefx.LevelAssets;
+import org.example.gamefx.display.Display;
+import org.example.gamefx.utils.AssetCache;
+import org.example.gamefx.utils.AssetPreloader;
+import org.example.gamefx.utils.Logger;
+import org.example.gamefx.utils.Utils;
+
+import java.io.IOException;
+
+/**
+ * Loading screen that decodes every asset a level needs on a worker pool and builds
+ * the game off the FX thread. Gameplay starts only when everything is resident.
+ */
+public class LoadingState implements GameState {
+    // Share of the progress bar used by image decoding, the rest is world construction
+    private static final double DECODE_SHARE = 0.8;
+
+    private final StateManager stateManager;
+    private final Display display;
+    private final Level level;
+    private final GameFactory gameFactory;
+    private final Image backgroundImage;
+
+    private ProgressBar progressBar;
+    private Label statusLabel;
+
+    private volatile AssetPreloader preloader;
+    private volatile boolean buildingWorld = false;
+    private volatile Game loadedGame;
+    private volatile Exception failure;
+
+    /**
+     * Creates the game once assets are resident. Runs on the loading thread.
+     */
+    public interface GameFactory {
+        Game create() throws IOException;
+    }
+
+    /**
+     * Creates loading state
+     *
+     * @param stateManager Reference to state controller
+     * @param display Main display reference
+     * @param level Level whose assets should be preloaded (null for shared assets only)
+     * @param gameFactory Builds the game after preloading
+     */
+    public LoadingState(StateManager stateManager, Display display, Level level, GameFactory gameFactory) {
+        this.stateManager = stateManager;
+        this.display = display;
+        this.level = level;
+        this.gameFactory = gameFactory;
+        this.backgroundImage = Utils.borrowImg("/menu/menu_background_k.png");
+    }
+
+    /**
+     * Shows the progress bar and starts the background loading thread
+     */
+    @Override
+    public void init() {
+        display.getRootPane().getChildren().clear();
+        display.getRootPane().getChildren().add(display.getCanvas());
+
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(display.getWidth() / 2);
+        statusLabel = new Label("Loading...");
+
+        VBox box = new VBox(10);
+        box.setStyle("-fx-alignment: center;");
+        box.getChildren().addAll(statusLabel, progressBar);
+        display.getRootPane().getChildren().add(box);
+
+        Thread loader = new Thread(this::load, "level-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Loading thread: parallel decode, then world construction and chunk baking
+     */
+    private void load() {
+        try {
+            long start = System.nanoTime();
+            preloader = new AssetPreloader(LevelAssets.collect(level));
+            preloader.run();
+
+            buildingWorld = true;
+            Game game = gameFactory.create();
+            game.getWorld().getMap().prebake();
+
+            Logger.getInstance().info(String.format("Level loaded in %d ms (%d textures, %d failed), %s",
+                    (System.nanoTime() - start) / 1_000_000, preloader.getTotal(), preloader.getFailed(),
+                    AssetCache.getInstance().getStats()));
+            loadedGame = game;
+        } catch (Exception e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Updates the progress bar and switches to gameplay once loading finished
+     */
+    @Override
+    public void update() {
+        if (failure != null) {
+            Logger.getInstance().log(Logger.Level.ERROR, "Level loading failed: " + failure.getMessage());
+            stateManager.setCurrentGameState(new MenuState(stateManager, display));
+            return;
+        }
+        if (loadedGame != null) {
+            stateManager.setCurrentGameState(new PlayingState(stateManager, loadedGame));
+            return;
+        }
+
+        AssetPreloader current = preloader;
+        double progress = current == null ? 0 : current.getProgress() * DECODE_SHARE;
+        if (buildingWorld) {
+            progress = DECODE_SHARE;
+            statusLabel.setText("Building world...");
+        } else if (current != null) {
+            statusLabel.setText("Loading assets (" + current.getTotal() + ")...");
+        }
+        progressBar.setProgress(progress);
+    }
+
+    /**
+     * Renders menu background behind the progress bar
+     *
+     * @param gc Graphics context for drawing
+     */
+    @Override
+    public void render(GraphicsContext gc) {
+        if (backgroundImage != null) {
+            gc.drawImage(backgroundImage, 0, 0, display.getWidth(), display.getHeight());
+        }
+    }
+
+    @Override
+    public void handleInput() {}
+
+    @Override
+    public Display getDisplay() {
+        return display;
+    }
+}
@@ -8,12 +8,11 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import org.example.gamefx.Game;
+import org.example.gamefx.Level;
 import org.example.gamefx.LevelManager;
 import org.example.gamefx.display.Display;
-import org.example.gamefx.utils.Logger;
 import org.example.gamefx.utils.Utils;
 
-import java.io.IOException;
 /**
  * Main menu with game start, continue, and exit options
  */
@@ -31,7 +30,7 @@ public class MenuState implements GameState{
     public MenuState(StateManager stateManager, Display display) {
         this.stateManager = stateManager;
         this.display = display;
-        this.backgroundImage = Utils.loadImg("/menu/menu_background_k.png");
+        this.backgroundImage = Utils.borrowImg("/menu/menu_background_k.png");
     }
 
     /**
@@ -53,25 +52,19 @@ public class MenuState implements GameState{
 
         Button start = createImageButton("/menu/play.png", 160, 80);
         start.setOnAction(e -> {
-            try {
-                // Reset level manager to initial state
-                LevelManager.initializeLevels(); //pro to aby zacinal z 1 levelu
-                stateManager.setCurrentGameState(new PlayingState(stateManager, display));
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
+            // Reset level manager to initial state
+            LevelManager.initializeLevels(); //pro to aby zacinal z 1 levelu
+            Level level = LevelManager.getCurLevel();
+            stateManager.setCurrentGameState(new LoadingState(stateManager, display, level,
+                    () -> new Game(display, (int) display.getWidth(), (int) display.getHeight(), level)));
         });
 
 
         Button continue_game = createImageButton("/menu/continue.png", 160, 80);
         continue_game.setOnAction(e -> {
-            try {
-                Game loadedGame = Game.loadGame(display);
-                PlayingState playingState = new PlayingState(stateManager, loadedGame);
-                stateManager.setCurrentGameState(playingState);
-            } catch (IOException ex) {
-                Logger.getInstance().log(Logger.Level.WARNING, "Saved game not available");
-            }
+            // Saved level is unknown until the save is read, so only shared assets are preloaded
+            stateManager.setCurrentGameState(new LoadingState(stateManager, display, null,
+                    () -> Game.loadGame(display)));
         });
 
         Button instruction = createImageButton("/menu/instruction.png", 160, 80);
@@ -94,7 +87,7 @@ public class MenuState implements GameState{
     }
 
 private Button createImageButton(String imagePath, int width, int height) {
-    Image img = Utils.loadImg(imagePath);
+    Image img = Utils.borrowImg(imagePath);
     ImageView view = new ImageView(img);
     view.setFitWidth(width);
     view.setFitHeight(height);
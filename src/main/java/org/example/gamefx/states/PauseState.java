@@ -28,7 +28,7 @@ public class PauseState implements GameState {
         this.stateManager= stateManager;
         this.playingState = playingState;
         this.display = playingState.getDisplay();
-        this.backgroundImage = Utils.loadImg("/menu/pause_background_k.png");
+        this.backgroundImage = Utils.borrowImg("/menu/pause_background_k.png");
     }
 
     /**
@@ -62,7 +62,7 @@ public class PauseState implements GameState {
     }
 
     private Button createImageButton(String imagePath, int width, int height) {
-        Image img = Utils.loadImg(imagePath);
+        Image img = Utils.borrowImg(imagePath);
         ImageView view = new ImageView(img);
         view.setFitWidth(width);
         view.setFitHeight(height);
@@ -4,7 +4,6 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.KeyCode;
 import org.example.gamefx.*;
 import org.example.gamefx.display.Display;
-import org.example.gamefx.objects.Door;
 import org.example.gamefx.utils.Logger;
 
 import java.io.IOException;
@@ -15,6 +14,8 @@ import java.io.IOException;
 public class PlayingState implements GameState {
     private StateManager stateManager;
     private Game game;
+    private SimulationThread simulation;
+    private boolean pauseWasDown = false;
 
     /**
      * Starts new game session
@@ -47,14 +48,23 @@ public class PlayingState implements GameState {
         return game;
     }
 
+    /**
+     * Shows the layered gameplay canvases, forces a full repaint and starts
+     * the simulation thread when threaded simulation is enabled
+     */
     @Override
     public void init() {
-        game.getDisplay().getRootPane().getChildren().add(game.getDisplay().getCanvas());
+        game.getDisplay().showLayers();
+        game.invalidateLayers();
+        if (SimulationThread.isEnabled()) {
+            simulation = new SimulationThread(game);
+            simulation.start();
+        }
     }
 
     /**
      * Updates game logic and handles:
-     * - Pause requests (ESC key)
+     * - Pause requests (ESC key opens the pause menu, P freezes the game clock in place)
      * - Level completion checks
      * - Player death conditions
      *
@@ -62,30 +72,59 @@ public class PlayingState implements GameState {
      */
     @Override
     public void update() throws IOException {
-        game.update();
-        if (Input.getInstance().isKeyPressed(KeyCode.ESCAPE)) {
-            stateManager.setCurrentGameState(new PauseState(stateManager, this));
+        boolean levelComplete;
+        boolean playerDead;
+        if (simulation == null) {
+            game.update();
+            levelComplete = game.isLevelComplete();
+            playerDead = game.getWorld().getPlayer().isDead();
+        } else if (simulation.getFailure() != null) {
+            throw new IOException("Simulation failed", simulation.getFailure());
+        } else {
+            // The world belongs to the simulation thread, read the outcome it published
+            WorldSnapshot snapshot = simulation.getLatestSnapshot();
+            levelComplete = snapshot.isLevelComplete();
+            playerDead = snapshot.isPlayerDead();
+        }
+        // Live key, the tick key state is not sampled while the clock is paused
+        boolean pauseDown = Input.getInstance().isKeyDown(KeyCode.P);
+        if (pauseDown && !pauseWasDown) {
+            GameClock clock = game.getWorld().getClock();
+            clock.setPaused(!clock.isPaused());
         }
+        pauseWasDown = pauseDown;
 
-        Level curLevel = LevelManager.getCurLevel();
-        if (curLevel instanceof Level2) {
-            Level2 level2 = (Level2) curLevel;
-            Door door = level2.getDoor();
+        if (Input.getInstance().isKeyDown(KeyCode.ESCAPE)) {
+            leave(new PauseState(stateManager, this));
+            return;
+        }
 
-            if (door != null && door.isOpened()) {
-                Logger.getInstance().info("The door is open. Switching to LevelCompleteState.");
-                stateManager.setCurrentGameState(new LevelCompleteState(stateManager, this));
-                return;
-            }
+        if (levelComplete) {
+            Logger.getInstance().info("The door is open. Switching to LevelCompleteState.");
+            leave(new LevelCompleteState(stateManager, this));
+            return;
         }
 
-        if (game.getWorld().getPlayer().isDead()) {
+        if (playerDead) {
             Logger.getInstance().info("The player died. Transition to GameOverState.");
-            stateManager.setCurrentGameState(new GameOverState(stateManager, this));
+            leave(new GameOverState(stateManager, this));
             return;
         }
     }
 
+    /**
+     * Stops the simulation thread, so the next state can safely touch the world, and switches state
+     *
+     * @param next State to switch to
+     */
+    private void leave(GameState next) {
+        if (simulation != null) {
+            simulation.stop();
+            simulation = null;
+        }
+        stateManager.setCurrentGameState(next);
+    }
+
     /**
      * Delegates rendering to game engine
      *
@@ -93,7 +132,11 @@ public class PlayingState implements GameState {
      */
     @Override
     public void render(GraphicsContext gc) {
-        game.render();
+        if (simulation != null) {
+            game.render(simulation.getLatestSnapshot());
+        } else {
+            game.render(stateManager.getInterpolationAlpha());
+        }
     }
 
     @Override
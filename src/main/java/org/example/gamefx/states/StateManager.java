@@ -9,6 +9,7 @@ import java.io.IOException;
 public class StateManager {
     private GameState currentGameState;
     private GraphicsContext gc;
+    private double interpolationAlpha = 1.0;
 
     /**
      * Creates state manager with rendering context
@@ -45,9 +46,26 @@ public class StateManager {
      * Renders current state's visual elements
      */
     public void render() {
+        render(1.0);
+    }
+
+    /**
+     * Renders current state's visual elements between two simulation ticks
+     *
+     * @param alpha Fraction of a tick elapsed since the last update, 0.0 to 1.0
+     */
+    public void render(double alpha) {
+        this.interpolationAlpha = alpha;
         if (currentGameState != null) currentGameState.render(gc);
     }
 
+    /**
+     * @return Interpolation factor of the frame being rendered
+     */
+    public double getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
     public void handleInput() {
         if (currentGameState != null) currentGameState.handleInput();
     }
@@ -0,0 +1,280 @@
+package org.example.gamefx.utils;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Shared, memory-budgeted image cache. Every image is decoded once per resource path,
+ * reference counted, and evicted in least-recently-used order once the budget is exceeded.
+ * Pinned images stay resident for good and don't count against the budget.
+ */
+public class AssetCache {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024; // 64 MB of decoded pixels
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static AssetCache instance = new AssetCache();
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private long residentBytes = 0;
+    private long pinnedBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long decodedBytes = 0;
+
+    /**
+     * Cached image with its reference count and estimated decoded size
+     */
+    private static class Entry {
+        private final Image image;
+        private final long bytes;
+        private int refCount;
+        private boolean pinned;
+
+        private Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+
+    private AssetCache() {}
+
+    /**
+     * @return The global asset cache instance
+     */
+    public static AssetCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the image for a resource path and registers one more reference to it.
+     * The image is decoded only on the first request (cache miss).
+     *
+     * @param path Resource path to image file
+     * @return Shared Image instance or null if the resource can't be loaded
+     */
+    public synchronized Image acquire(String path) {
+        Entry entry = lookup(path);
+        if (entry == null) return null;
+        entry.refCount++;
+        return entry.image;
+    }
+
+    /**
+     * Returns the image for a resource path and keeps it resident for the rest of the run,
+     * outside of the memory budget. Pinning an image twice has no further effect.
+     *
+     * @param path Resource path to image file
+     * @return Shared Image instance or null if the resource can't be loaded
+     */
+    public synchronized Image pin(String path) {
+        Entry entry = lookup(path);
+        if (entry == null) return null;
+        if (!entry.pinned) {
+            entry.pinned = true;
+            pinnedBytes += entry.bytes;
+        }
+        return entry.image;
+    }
+
+    /**
+     * Returns the image for a resource path without changing its reference count.
+     * Intended for callers that only borrow the image for a single draw.
+     *
+     * @param path Resource path to image file
+     * @return Shared Image instance or null if the resource can't be loaded
+     */
+    public synchronized Image get(String path) {
+        Entry entry = lookup(path);
+        return entry == null ? null : entry.image;
+    }
+
+    /**
+     * Decodes an image ahead of use without holding the cache lock, so several worker
+     * threads can decode in parallel. Does not change the reference count.
+     *
+     * @param path Resource path to image file
+     * @return True if the image is resident after the call
+     */
+    public boolean preload(String path) {
+        synchronized (this) {
+            if (entries.containsKey(path)) return true;
+        }
+
+        Image image = decode(path);
+        if (image == null) return false;
+
+        synchronized (this) {
+            if (entries.containsKey(path)) return true; // decoded concurrently by another worker
+            misses++;
+            insert(path, image);
+        }
+        return true;
+    }
+
+    /**
+     * Drops one reference to an image. Unreferenced images stay cached
+     * until memory pressure evicts them.
+     *
+     * @param path Resource path used when acquiring the image
+     */
+    public synchronized void release(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null && entry.refCount > 0) {
+            entry.refCount--;
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Sets the maximum amount of decoded pixel memory kept by the cache
+     *
+     * @param bytes Memory budget in bytes
+     */
+    public synchronized void setMemoryBudget(long bytes) {
+        this.memoryBudget = bytes;
+        evictIfNeeded();
+    }
+
+    /**
+     * Removes every unreferenced image from the cache
+     */
+    public synchronized void trim() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.refCount == 0 && !entry.pinned) {
+                it.remove();
+                residentBytes -= entry.bytes;
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Finds a cached entry or decodes the image on a miss
+     *
+     * @param path Resource path to image file
+     * @return Cache entry or null if decoding failed
+     */
+    private Entry lookup(String path) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            hits++;
+            return entry;
+        }
+        misses++;
+
+        Image image = decode(path);
+        if (image == null) return null;
+        return insert(path, image);
+    }
+
+    /**
+     * Stores a freshly decoded image and enforces the memory budget
+     *
+     * @param path Resource path used as key
+     * @param image Decoded image
+     * @return New cache entry
+     */
+    private Entry insert(String path, Image image) {
+        long bytes = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+        Entry entry = new Entry(image, bytes);
+        entries.put(path, entry);
+        residentBytes += bytes;
+        decodedBytes += bytes;
+        evictIfNeeded();
+        return entry;
+    }
+
+    /**
+     * Decodes an image from application resources
+     *
+     * @param path Resource path to image file
+     * @return Decoded image or null on failure
+     */
+    private Image decode(String path) {
+        try (InputStream is = AssetCache.class.getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalArgumentException("Resource not found: " + path);
+            }
+            return new Image(is);
+        } catch (Exception e) {
+            System.err.println("Error loading image: " + path);
+            return null;
+        }
+    }
+
+    /**
+     * Evicts least recently used unreferenced images until the cache fits its budget.
+     * Referenced and pinned images are never evicted, their holders keep them alive anyway.
+     */
+    private void evictIfNeeded() {
+        if (residentBytes - pinnedBytes <= memoryBudget) return;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (residentBytes - pinnedBytes > memoryBudget && it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.refCount == 0 && !entry.pinned) {
+                it.remove();
+                residentBytes -= entry.bytes;
+                evictions++;
+            }
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Total bytes decoded since startup (including re-decodes after eviction)
+     */
+    public synchronized long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    /**
+     * @return Estimated bytes of decoded images currently held by the cache
+     */
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * @return Estimated bytes of pinned images, not counted against the budget
+     */
+    public synchronized long getPinnedBytes() {
+        return pinnedBytes;
+    }
+
+    public synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return One-line summary of cache counters for logging
+     */
+    public synchronized String getStats() {
+        return String.format("images=%d hits=%d misses=%d evictions=%d resident=%dKB pinned=%dKB decoded=%dKB",
+                entries.size(), hits, misses, evictions, residentBytes / 1024, pinnedBytes / 1024, decodedBytes / 1024);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.gamefx.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes a set of images into the {@link AssetCache} in parallel on a worker pool,
+ * reporting progress so a loading screen can display it
+ */
+public class AssetPreloader {
+    private final List<String> texturePaths = new ArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final int threads;
+
+    /**
+     * Creates preloader for the given sprite resource paths. Paths packed into the sprite atlas
+     * are mapped to their atlas page, so every texture is decoded exactly once.
+     *
+     * @param spritePaths Resource paths of every image the caller needs
+     */
+    public AssetPreloader(Collection<String> spritePaths) {
+        this(spritePaths, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * @param spritePaths Resource paths of every image the caller needs
+     * @param threads Number of decoding worker threads
+     */
+    public AssetPreloader(Collection<String> spritePaths, int threads) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String path : spritePaths) {
+            unique.add(SpriteAtlas.getInstance().getTexturePath(path));
+        }
+        this.texturePaths.addAll(unique);
+        this.threads = threads;
+    }
+
+    /**
+     * Decodes all textures and blocks until every one is resident (or failed)
+     *
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public void run() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-preloader");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (String path : texturePaths) {
+                pool.execute(() -> {
+                    if (!AssetCache.getInstance().preload(path)) {
+                        failed.incrementAndGet();
+                    }
+                    completed.incrementAndGet();
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Fraction of textures processed, 0.0 to 1.0
+     */
+    public double getProgress() {
+        return texturePaths.isEmpty() ? 1.0 : (double) completed.get() / texturePaths.size();
+    }
+
+    public int getTotal() {
+        return texturePaths.size();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.gamefx.utils;
+
+/**
+ * Fixed-bucket histogram of durations in nanoseconds. Buckets are log-linear (8 per power
+ * of two above one microsecond), so percentiles are accurate to about 12% at any scale.
+ * Recording never allocates and can be called every tick and every frame.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int UNIT_SHIFT = 10; // ~1 microsecond resolution
+    private static final int MAX_EXPONENT = 30; // ~18 minutes, longer samples land in the last bucket
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long total = 0;
+    private long max = 0;
+
+    /**
+     * @param nanos Measured duration
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketOf(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    private static int bucketOf(long nanos) {
+        long units = nanos >>> UNIT_SHIFT;
+        if (units < SUB_BUCKETS) {
+            return (int) units;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(units), MAX_EXPONENT);
+        int mantissa = (int) (units >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        if (units >>> exponent > 1) {
+            mantissa = SUB_BUCKETS - 1; // clamped
+        }
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * @return Largest duration that falls into the bucket, in nanoseconds
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return ((long) bucket + 1 << UNIT_SHIFT) - 1;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        return ((mantissa + 1 << (exponent - SUB_BUCKET_BITS)) << UNIT_SHIFT) - 1;
+    }
+
+    /**
+     * @param percentile 0.0 to 100.0
+     * @return Duration not exceeded by the given share of samples, in nanoseconds (0 if empty)
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return Number of recorded samples
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Longest recorded duration in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return Average duration in nanoseconds (0 if empty)
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Removes all samples
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Replaces the contents with a copy of another histogram, without allocating
+     *
+     * @param other Histogram to copy
+     */
+    public void copyFrom(LatencyHistogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, BUCKET_COUNT);
+        count = other.count;
+        total = other.total;
+        max = other.max;
+    }
+
+    /**
+     * @return Summary such as "p50 1.20 p95 2.40 p99 4.10 max 9.80 ms"
+     */
+    public String summary() {
+        return String.format("p50 %.2f p95 %.2f p99 %.2f max %.2f ms",
+                getPercentile(50) / 1e6, getPercentile(95) / 1e6, getPercentile(99) / 1e6, max / 1e6);
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.gamefx.utils;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Hierarchical frame profiler. Code is wrapped in named zones:
+ *
+ * <pre>
+ * Profiler.getInstance().begin("Collision.canMove");
+ * try { ... } finally { Profiler.getInstance().end(); }
+ * </pre>
+ *
+ * Nested zones form a call tree whose nodes are created the first time a path is seen and
+ * reused afterwards, so steady-state profiling does not allocate. Each node accumulates
+ * nanoseconds and calls per frame. Only the thread that calls {@link #beginFrame()} is
+ * profiled, zones entered on other threads (e.g. the simulation thread) are ignored.
+ */
+public class Profiler {
+    private static final int MAX_DEPTH = 32;
+    private static final int ROOT = 0;
+
+    private static Profiler instance = new Profiler();
+
+    private boolean enabled = false;
+    private Thread owner;
+    private long frame = 0;
+    private long frameStart;
+
+    // Tree nodes in parallel arrays, node 0 is the frame itself
+    private int nodeCount = 1;
+    private String[] names = {"frame"};
+    private int[] parents = {-1};
+    private int[] firstChildren = {-1};
+    private int[] nextSiblings = {-1};
+    private int[] depths = {0};
+    private long[] nanos = new long[1];
+    private int[] calls = new int[1];
+    private long[] lastNanos = new long[1];
+    private int[] lastCalls = new int[1];
+
+    // Open zones of the current frame
+    private final int[] stack = new int[MAX_DEPTH];
+    private final long[] startTimes = new long[MAX_DEPTH];
+    private int stackSize = 0;
+    private int skippedDepth = 0;
+
+    private BufferedWriter csv;
+
+    private Profiler() {}
+
+    /**
+     * @return Global profiler instance
+     */
+    public static Profiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param enabled True to record zones, disabled zones cost a single branch
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        stackSize = 0;
+        skippedDepth = 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a frame on the calling thread, which becomes the profiled thread
+     */
+    public void beginFrame() {
+        if (!enabled) return;
+        owner = Thread.currentThread();
+        Arrays.fill(nanos, 0, nodeCount, 0);
+        Arrays.fill(calls, 0, nodeCount, 0);
+        stackSize = 0;
+        skippedDepth = 0;
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Finishes the frame, publishes its tree and appends it to the CSV export
+     */
+    public void endFrame() {
+        if (!enabled || owner != Thread.currentThread()) return;
+        nanos[ROOT] = System.nanoTime() - frameStart;
+        calls[ROOT] = 1;
+        System.arraycopy(nanos, 0, lastNanos, 0, nodeCount);
+        System.arraycopy(calls, 0, lastCalls, 0, nodeCount);
+        writeCsv();
+        frame++;
+    }
+
+    /**
+     * Opens a zone nested in the currently open one
+     *
+     * @param name Zone name, should be a constant
+     */
+    public void begin(String name) {
+        if (!enabled || owner != Thread.currentThread()) return;
+        if (skippedDepth > 0 || stackSize == MAX_DEPTH) {
+            skippedDepth++;
+            return;
+        }
+        int parent = stackSize == 0 ? ROOT : stack[stackSize - 1];
+        stack[stackSize] = child(parent, name);
+        startTimes[stackSize] = System.nanoTime();
+        stackSize++;
+    }
+
+    /**
+     * Closes the innermost open zone
+     */
+    public void end() {
+        if (!enabled || owner != Thread.currentThread()) return;
+        if (skippedDepth > 0) {
+            skippedDepth--;
+            return;
+        }
+        if (stackSize == 0) return;
+        stackSize--;
+        int node = stack[stackSize];
+        nanos[node] += System.nanoTime() - startTimes[stackSize];
+        calls[node]++;
+    }
+
+    /**
+     * @return Existing child node with the name, or a new one
+     */
+    private int child(int parent, String name) {
+        int last = -1;
+        for (int c = firstChildren[parent]; c != -1; c = nextSiblings[c]) {
+            if (names[c] == name || names[c].equals(name)) return c;
+            last = c;
+        }
+        if (nodeCount == names.length) {
+            grow();
+        }
+        int node = nodeCount++;
+        names[node] = name;
+        parents[node] = parent;
+        firstChildren[node] = -1;
+        nextSiblings[node] = -1;
+        depths[node] = depths[parent] + 1;
+        if (last == -1) {
+            firstChildren[parent] = node;
+        } else {
+            nextSiblings[last] = node;
+        }
+        return node;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, names.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+        calls = Arrays.copyOf(calls, capacity);
+        lastNanos = Arrays.copyOf(lastNanos, capacity);
+        lastCalls = Arrays.copyOf(lastCalls, capacity);
+    }
+
+    /**
+     * Starts writing one row per zone and frame (frame, zone path, depth, nanos, calls)
+     *
+     * @param path CSV file, overwritten
+     * @throws IOException If the file can't be created
+     */
+    public void exportCsv(String path) throws IOException {
+        closeCsv();
+        csv = new BufferedWriter(new FileWriter(path));
+        csv.write("frame,zone,depth,nanos,calls");
+        csv.newLine();
+    }
+
+    /**
+     * Flushes and closes the CSV export
+     */
+    public void closeCsv() {
+        if (csv == null) return;
+        try {
+            csv.close();
+        } catch (IOException e) {
+            Logger.getInstance().log(Logger.Level.ERROR, "Can't close profiler CSV: " + e.getMessage());
+        }
+        csv = null;
+    }
+
+    private void writeCsv() {
+        if (csv == null) return;
+        try {
+            for (int node = 0; node < nodeCount; node++) {
+                if (lastCalls[node] == 0) continue;
+                csv.write(Long.toString(frame));
+                csv.write(',');
+                writePath(node);
+                csv.write(',');
+                csv.write(Integer.toString(depths[node]));
+                csv.write(',');
+                csv.write(Long.toString(lastNanos[node]));
+                csv.write(',');
+                csv.write(Integer.toString(lastCalls[node]));
+                csv.newLine();
+            }
+        } catch (IOException e) {
+            Logger.getInstance().log(Logger.Level.ERROR, "Profiler CSV export stopped: " + e.getMessage());
+            closeCsv();
+        }
+    }
+
+    private void writePath(int node) throws IOException {
+        if (parents[node] > ROOT) {
+            writePath(parents[node]);
+            csv.write('/');
+        }
+        csv.write(names[node]);
+    }
+
+    /**
+     * @return Number of nodes in the zone tree, including the frame root
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public String getName(int node) {
+        return names[node];
+    }
+
+    /**
+     * @return Parent node, -1 for the frame root
+     */
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * @return First child node, -1 if none
+     */
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    /**
+     * @return Next node with the same parent, -1 if none
+     */
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    public int getDepth(int node) {
+        return depths[node];
+    }
+
+    /**
+     * @return Nanoseconds spent in the zone during the last finished frame, including children
+     */
+    public long getNanos(int node) {
+        return lastNanos[node];
+    }
+
+    /**
+     * @return Times the zone was entered during the last finished frame
+     */
+    public int getCalls(int node) {
+        return lastCalls[node];
+    }
+
+    /**
+     * @return Number of finished frames
+     */
+    public long getFrame() {
+        return frame;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.gamefx.utils;
+
+import javafx.scene.image.Image;
+import org.example.gamefx.display.Renderer;
+
+/**
+ * Drawable sub-rectangle of a texture. Sprites packed into an atlas page share one Image,
+ * standalone sprites cover their whole image.
+ */
+public class Sprite {
+    private final Image image;
+    private final double srcX;
+    private final double srcY;
+    private final double width;
+    private final double height;
+
+    /**
+     * Creates sprite covering a whole standalone image
+     *
+     * @param image Source image
+     */
+    public Sprite(Image image) {
+        this(image, 0, 0, image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Creates sprite for a region of an atlas page
+     *
+     * @param image Atlas page image
+     * @param srcX Region X in the page
+     * @param srcY Region Y in the page
+     * @param width Region width
+     * @param height Region height
+     */
+    public Sprite(Image image, double srcX, double srcY, double width, double height) {
+        this.image = image;
+        this.srcX = srcX;
+        this.srcY = srcY;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Draws the sprite at its natural size
+     *
+     * @param renderer Render target
+     * @param x Destination X
+     * @param y Destination Y
+     */
+    public void draw(Renderer renderer, double x, double y) {
+        draw(renderer, x, y, width, height);
+    }
+
+    /**
+     * Draws the sprite scaled to the destination rectangle using the source-rect overload
+     *
+     * @param renderer Render target
+     * @param x Destination X
+     * @param y Destination Y
+     * @param w Destination width
+     * @param h Destination height
+     */
+    public void draw(Renderer renderer, double x, double y, double w, double h) {
+        renderer.drawImage(image, srcX, srcY, width, height, x, y, w, h);
+    }
+
+    /**
+     * @return Texture this sprite is cut from (atlas page or standalone image)
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    public double getSrcX() {
+        return srcX;
+    }
+
+    public double getSrcY() {
+        return srcY;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+}
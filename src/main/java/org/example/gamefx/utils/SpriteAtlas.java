@@ -0,0 +1,130 @@
+package org.example.gamefx.utils;
+
+import javafx.scene.image.Image;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+
+/**
+ * Resolves sprite resource paths to regions of the atlas pages packed at build time
+ * (see tools/AtlasPacker.java). Paths missing from the atlas, or a missing atlas when running
+ * without the Maven build step, fall back to standalone images from the {@link AssetCache}.
+ * <p>
+ * Sprites are shared by every map and entity and kept for the whole run, so their textures
+ * are pinned in the cache once per page (or standalone image) instead of being reference
+ * counted per sprite.
+ */
+public class SpriteAtlas {
+    private static final String ATLAS_DIR = "/atlas/";
+    private static final String INDEX_FILE = ATLAS_DIR + "atlas.index";
+
+    private static SpriteAtlas instance = new SpriteAtlas();
+
+    private final HashMap<String, Region> regions = new HashMap<>();
+    private final HashMap<String, Sprite> sprites = new HashMap<>();
+    private boolean indexLoaded = false;
+
+    /**
+     * Sub-rectangle of an atlas page as written in the index
+     */
+    private static class Region {
+        private final String page;
+        private final int x, y, width, height;
+
+        private Region(String page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private SpriteAtlas() {}
+
+    /**
+     * @return The global sprite atlas
+     */
+    public static SpriteAtlas getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the sprite for an original resource path, e.g. "/blocks/grass_4.png".
+     * Sprites are created once, repeated calls return the same instance.
+     *
+     * @param path Resource path of the original frame
+     * @return Sprite from the atlas, standalone fallback sprite, or null if the image can't be loaded
+     */
+    public synchronized Sprite getSprite(String path) {
+        Sprite sprite = sprites.get(path);
+        if (sprite != null) return sprite;
+
+        loadIndex();
+        Region region = regions.get(path);
+        if (region != null) {
+            Image page = AssetCache.getInstance().pin(ATLAS_DIR + region.page);
+            if (page != null) {
+                sprite = new Sprite(page, region.x, region.y, region.width, region.height);
+            }
+        }
+        if (sprite == null) {
+            Image image = AssetCache.getInstance().pin(path);
+            if (image == null) return null;
+            sprite = new Sprite(image);
+        }
+        sprites.put(path, sprite);
+        return sprite;
+    }
+
+    /**
+     * Maps a sprite path to the image resource that actually has to be decoded for it:
+     * the atlas page containing the sprite, or the standalone image when it isn't packed
+     *
+     * @param path Resource path of the original frame
+     * @return Resource path of the backing texture
+     */
+    public synchronized String getTexturePath(String path) {
+        loadIndex();
+        Region region = regions.get(path);
+        return region != null ? ATLAS_DIR + region.page : path;
+    }
+
+    /**
+     * @return True if the build-time atlas is available on the classpath
+     */
+    public synchronized boolean isPacked() {
+        loadIndex();
+        return !regions.isEmpty();
+    }
+
+    /**
+     * Reads the region index once. A missing index simply leaves every path on the fallback.
+     */
+    private void loadIndex() {
+        if (indexLoaded) return;
+        indexLoaded = true;
+
+        InputStream is = SpriteAtlas.class.getResourceAsStream(INDEX_FILE);
+        if (is == null) {
+            Logger.getInstance().info("Sprite atlas not found, using standalone images");
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] tokens = line.trim().split("\\s+");
+                regions.put(tokens[0], new Region(tokens[1],
+                        Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]),
+                        Integer.parseInt(tokens[4]), Integer.parseInt(tokens[5])));
+            }
+        } catch (IOException | RuntimeException e) {
+            Logger.getInstance().info("Sprite atlas index unreadable, using standalone images: " + e.getMessage());
+            regions.clear();
+        }
+    }
+}
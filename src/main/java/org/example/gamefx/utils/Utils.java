@@ -48,22 +48,34 @@ public class Utils {
     }
 
     /**
-     * Loads image from application resources
+     * Loads image from application resources through the shared {@link AssetCache}.
+     * Each path is decoded only once, repeated calls return the same Image instance.
+     * The caller owns a reference and must hand it back with {@link #releaseImg(String)}.
      *
      * @param imgPath Resource path to image file
      * @return Loaded Image object or null on failure
-     * @throws IllegalArgumentException If resource not found
      */
     public static Image loadImg(String imgPath) {
-        try {
-            InputStream is = Utils.class.getResourceAsStream(imgPath);
-            if(is == null) {
-                throw new IllegalArgumentException("Resource not found: " + imgPath);
-            }
-            return new Image(is);
-        } catch (Exception e) {
-            System.err.println("Error loading image: " + imgPath);
-            return null;
-        }
+        return AssetCache.getInstance().acquire(imgPath);
+    }
+
+    /**
+     * Gives back a reference taken by {@link #loadImg(String)}, letting the cache evict the image
+     *
+     * @param imgPath Resource path used when loading the image
+     */
+    public static void releaseImg(String imgPath) {
+        AssetCache.getInstance().release(imgPath);
+    }
+
+    /**
+     * Loads image without taking a reference, for screens that don't track when they are left.
+     * The image may be evicted and decoded again the next time it is needed.
+     *
+     * @param imgPath Resource path to image file
+     * @return Loaded Image object or null on failure
+     */
+    public static Image borrowImg(String imgPath) {
+        return AssetCache.getInstance().get(imgPath);
     }
 }
@@ -0,0 +1,63 @@
+package org.example.gamefx;
+
+import org.example.gamefx.entities.Entity;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Collision checks run several times per entity and tick, so they must not allocate
+ */
+class CollisionAllocationTest {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    // canMove calls per entity, measured after as many warmup calls
+    private static final int CALLS = 20_000;
+
+    @Test
+    void canMoveDoesNotAllocate() throws IOException {
+        LevelManager.initializeLevels();
+        Game game = new Game(WIDTH, HEIGHT, LevelManager.getCurLevel());
+        // Fills the entity grid and the broadphase pairs
+        for (int i = 0; i < 10; i++) {
+            game.update();
+        }
+
+        Collision collision = game.getWorld().getCollision();
+        List<Entity> movers = new ArrayList<>(game.getWorld().getEnemies());
+        movers.add(game.getPlayer());
+        Entity[] entities = movers.toArray(new Entity[0]);
+        // Steps within the margin are answered by the broadphase, longer ones by the grid
+        double farStep = game.getWorld().getBroadphase().getMargin() + CollisionMap.CELL_SIZE;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        callCanMove(collision, entities, farStep);
+        // The counter query itself may allocate, measure it on its own
+        long probe = threads.getThreadAllocatedBytes(threadId);
+        long overhead = threads.getThreadAllocatedBytes(threadId) - probe;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        callCanMove(collision, entities, farStep);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertEquals(0, Math.max(0, allocated), "bytes allocated by " + (long) CALLS * entities.length + " canMove calls");
+    }
+
+    private static void callCanMove(Collision collision, Entity[] entities, double farStep) {
+        for (int round = 0; round < CALLS; round++) {
+            for (Entity entity : entities) {
+                // Alternate directions and distances so free and blocked paths of both queries run
+                double step = (round & 2) == 0 ? 2 : farStep;
+                if ((round & 1) != 0) step = -step;
+                collision.canMove(entity, entity.getX() + step, entity.getY() - step);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build-time sprite atlas packer (run by Maven in the generate-resources phase).
+ * Packs block, sprite, item and character frames into a few atlas pages and writes
+ * a region index mapping every original resource path to its page and sub-rectangle.
+ *
+ * Usage: java tools/AtlasPacker.java <resources dir> <output dir>
+ */
+public class AtlasPacker {
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 1;
+
+    /**
+     * Atlas group: pages are named after the group, sources are selected by resource path prefix
+     */
+    private record Group(String name, String prefix) {}
+
+    private static final Group[] GROUPS = {
+            new Group("blocks", "/blocks/"),
+            new Group("sprites", "/sprites/"),
+            new Group("items", "/items/"),
+            new Group("character", "/character_"),
+    };
+
+    private record Frame(String path, BufferedImage image) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java AtlasPacker.java <resources dir> <output dir>");
+            System.exit(1);
+        }
+        Path resources = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        Files.createDirectories(output);
+
+        try (PrintWriter index = new PrintWriter(Files.newBufferedWriter(output.resolve("atlas.index")))) {
+            index.println("# resourcePath page x y width height");
+            for (Group group : GROUPS) {
+                List<Frame> frames = collect(resources, group);
+                pack(group, frames, output, index);
+            }
+        }
+    }
+
+    /**
+     * Collects PNG frames belonging to a group, tallest first for better shelf packing
+     */
+    private static List<Frame> collect(Path resources, Group group) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(resources)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".png"))::iterator) {
+                String path = "/" + resources.relativize(file).toString().replace(File.separatorChar, '/');
+                if (path.startsWith(group.prefix())) {
+                    BufferedImage image = ImageIO.read(file.toFile());
+                    if (image != null && image.getWidth() <= PAGE_SIZE && image.getHeight() <= PAGE_SIZE) {
+                        frames.add(new Frame(path, image));
+                    }
+                }
+            }
+        }
+        frames.sort(Comparator.comparingInt((Frame f) -> f.image().getHeight()).reversed()
+                .thenComparing(Frame::path));
+        return frames;
+    }
+
+    /**
+     * Shelf-packs frames into as many pages as needed and writes pages plus index entries
+     */
+    private static void pack(Group group, List<Frame> frames, Path output, PrintWriter index) throws IOException {
+        int pageNo = 0;
+        BufferedImage page = null;
+        Graphics2D graphics = null; // one per page, disposed before the page is written
+        int cursorX = 0, cursorY = 0, shelfHeight = 0;
+
+        for (Frame frame : frames) {
+            int w = frame.image().getWidth();
+            int h = frame.image().getHeight();
+
+            if (page != null && cursorX + w > PAGE_SIZE) {
+                cursorX = 0;
+                cursorY += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            if (page == null || cursorY + h > PAGE_SIZE) {
+                if (page != null) {
+                    graphics.dispose();
+                    write(page, cursorY + shelfHeight, output, group, pageNo++);
+                }
+                page = new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+                graphics = page.createGraphics();
+                cursorX = 0;
+                cursorY = 0;
+                shelfHeight = 0;
+            }
+
+            graphics.drawImage(frame.image(), cursorX, cursorY, null);
+            index.printf("%s %s %d %d %d %d%n", frame.path(), pageName(group, pageNo), cursorX, cursorY, w, h);
+            cursorX += w + PADDING;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+        if (page != null) {
+            graphics.dispose();
+            write(page, cursorY + shelfHeight, output, group, pageNo);
+        }
+    }
+
+    private static String pageName(Group group, int pageNo) {
+        return group.name() + "_" + pageNo + ".png";
+    }
+
+    /**
+     * Writes a page cropped to its used height, so sparse pages don't waste texture memory
+     */
+    private static void write(BufferedImage page, int usedHeight, Path output, Group group, int pageNo) throws IOException {
+        BufferedImage cropped = page.getSubimage(0, 0, PAGE_SIZE, Math.min(PAGE_SIZE, usedHeight));
+        ImageIO.write(cropped, "png", output.resolve(pageName(group, pageNo)).toFile());
+    }
+}